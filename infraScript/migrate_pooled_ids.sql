@@ -0,0 +1,42 @@
+-- BaseEntity 의 id 전략을 IDENTITY 에서 PooledSequenceGenerator(pooled-lo) 로 바꾸기 위한 1회성 마이그레이션
+-- MySQL 에는 시퀀스가 없으므로 Hibernate 는 {테이블}_seq 테이블의 next_val 을 시퀀스처럼 사용한다.
+--
+-- 블루/그린 전환 중에는 구버전이 AUTO_INCREMENT 로, 새 버전이 시퀀스 블록으로 같은 테이블에 동시에 insert 한다.
+-- InnoDB 는 AUTO_INCREMENT 보다 큰 id 가 명시적으로 insert 되면 카운터를 그 id + 1 로 올리므로,
+-- 시퀀스를 기존 최대 id 위에 여유를 두고 시작해도 새 버전의 첫 insert 이후 구버전이 새 버전의 블록 안에서 id 를 받게 된다.
+-- 그래서 id 공간을 나눈다.
+--   - AUTO_INCREMENT 를 먼저 1,000,000,000,000 으로 옮긴다. 구버전은 그 위에서만 id 를 받는다.
+--   - 시퀀스는 그 아래, 기존 최대 id 다음부터 발급한다. 시퀀스 id 는 AUTO_INCREMENT 보다 작으므로 카운터를 건드리지 않는다.
+-- ALTER 는 진행 중인 트랜잭션이 끝나기를 기다린 뒤 적용되므로, 그 뒤에 구한 MAX(id) 는 AUTO_INCREMENT 로 받은 id 를 모두 포함한다.
+--
+-- 절차
+--   1. 새 버전을 배포하기 전에 운영 DB 에서 이 스크립트를 실행한다.
+--      새 버전이 먼저 뜨면 ddl-auto 가 next_val = 1 로 시퀀스 테이블을 만들기 때문이다. 아래 UPDATE 가 이 경우도 바로잡지만,
+--      그 사이 발급된 id 는 기존 행과 겹친다.
+--   2. 새 버전을 배포한다. 전환 중 구버전이 넣은 행은 id 가 1,000,000,000,000 이상이다.
+--   3. 구버전 컨테이너가 모두 내려간 뒤 맨 아래의 ALTER 로 AUTO_INCREMENT 를 제거한다.
+-- 여러 번 실행해도 된다. next_val 은 줄어들지 않는다.
+
+SET @auto_increment_floor = 1000000000000;
+
+ALTER TABLE member AUTO_INCREMENT = 1000000000000;
+CREATE TABLE IF NOT EXISTS member_seq (next_val BIGINT);
+INSERT INTO member_seq (next_val)
+SELECT 1 FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM member_seq);
+UPDATE member_seq
+SET next_val = GREATEST(next_val,
+        (SELECT COALESCE(MAX(id), 0) + 1 FROM member WHERE id < @auto_increment_floor));
+
+ALTER TABLE chat AUTO_INCREMENT = 1000000000000;
+CREATE TABLE IF NOT EXISTS chat_seq (next_val BIGINT);
+INSERT INTO chat_seq (next_val)
+SELECT 1 FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM chat_seq);
+UPDATE chat_seq
+SET next_val = GREATEST(next_val,
+        (SELECT COALESCE(MAX(id), 0) + 1 FROM chat WHERE id < @auto_increment_floor));
+
+-- 3 단계: 구버전 컨테이너가 모두 내려간 뒤 실행한다.
+-- ALTER TABLE chat MODIFY id BIGINT NOT NULL;
+-- ALTER TABLE member MODIFY id BIGINT NOT NULL;
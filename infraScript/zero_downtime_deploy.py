@@ -2,6 +2,7 @@
 
 import os
 import requests  # HTTP 요청을 위한 모듈 추가
+import secrets
 import subprocess
 import time
 from typing import Dict, Optional
@@ -26,6 +27,17 @@ class ServiceManager:
             'gdgoc-bugburger_1': 8082,
             'gdgoc-bugburger_2': 8083
         }
+        # actuator(health, prometheus) 포트. 호스트의 127.0.0.1 에만 publish 해 밖에서는 닿지 않는다.
+        self.management_ports: Dict[str, int] = {
+            'gdgoc-bugburger_1': 8092,
+            'gdgoc-bugburger_2': 8093
+        }
+        self.management_port: int = 8091
+        # blue/green 이 시그널링 릴레이(9090)로 서로 접속하는 docker 네트워크. 릴레이 포트는 호스트에 열지 않는다.
+        self.network: str = 'gdgoc-bugburger'
+        self.relay_port: int = 9090
+        # 릴레이 HELLO 인증용 공유 비밀. 처음 배포할 때 만들고 이후 두 컨테이너가 같은 값을 쓴다.
+        self.relay_env_file: str = '/dockerProjects/gdgoc-bugburger/relay.env'
         self.current_name: Optional[str] = None
         self.current_port: Optional[int] = None
         self.next_name: Optional[str] = None
@@ -50,13 +62,41 @@ class ServiceManager:
 
     # Docker 컨테이너를 제거하는 함수
     def _remove_container(self, name: str) -> None:
-        os.system(f"docker stop {name} 2> /dev/null")
+        # 기본 10초 뒤에는 SIGKILL 이라 graceful shutdown(기본 30초)과 write-behind 큐 비우기가 끝나기 전에 죽는다.
+        os.system(f"docker stop -t 45 {name} 2> /dev/null")
         os.system(f"docker rm -f {name} 2> /dev/null")
 
+    # 컨테이너 이름의 '_' 는 호스트 이름에 쓸 수 없으므로 네트워크 별칭은 '-' 로 바꾼다.
+    @staticmethod
+    def _relay_host(name: str) -> str:
+        return name.replace('_', '-')
+
+    # 릴레이 네트워크와 공유 비밀이 없으면 만든다.
+    def _prepare_relay(self) -> None:
+        os.system(f"docker network create {self.network} > /dev/null 2>&1")
+        if not os.path.exists(self.relay_env_file):
+            fd = os.open(self.relay_env_file, os.O_WRONLY | os.O_CREAT | os.O_EXCL, 0o600)
+            with os.fdopen(fd, 'w') as env_file:
+                env_file.write(f"CUSTOM_SIGNALING_RELAY_SECRET={secrets.token_hex(32)}\n")
+
     # Docker 컨테이너를 실행하는 함수
+    # 다른 색 컨테이너를 릴레이 peer 로 지정한다. 아직 떠 있지 않으면 릴레이가 재연결을 계속 시도한다.
     def _run_container(self, name: str, port: int) -> None:
+        peer = next(other for other in self.services if other != name)
+        relay_options = (
+            f"--network {self.network} --network-alias {self._relay_host(name)} "
+            f"--env-file {self.relay_env_file} "
+            f"-e CUSTOM_SIGNALING_RELAY_TYPE=socket "
+            f"-e CUSTOM_SIGNALING_RELAY_BINDADDRESS=0.0.0.0 "
+            f"-e CUSTOM_SIGNALING_RELAY_ADVERTISEDADDRESS={self._relay_host(name)}:{self.relay_port} "
+            f"-e CUSTOM_SIGNALING_RELAY_PEERS={self._relay_host(peer)}:{self.relay_port}"
+        )
+        management_options = (
+            f"-p 127.0.0.1:{self.management_ports[name]}:{self.management_port} "
+            f"-e MANAGEMENT_SERVER_ADDRESS=0.0.0.0"
+        )
         os.system(
-            f"docker run -d --name={name} --restart unless-stopped -p {port}:8080 -e TZ=Asia/Seoul -v /dockerProjects/gdgoc-bugburger/volumes/gen:/gen --pull always ghcr.io/whqtker/gdgoc-bugburger")
+            f"docker run -d --name={name} --restart unless-stopped -p {port}:8080 {management_options} {relay_options} -e TZ=Asia/Seoul -v /dockerProjects/gdgoc-bugburger/volumes/gen:/gen --pull always ghcr.io/whqtker/gdgoc-bugburger")
 
     def _switch_port(self) -> None:
         # Socat 포트를 전환하는 함수
@@ -98,11 +138,13 @@ class ServiceManager:
         self._remove_container(self.next_name)
         self.logger.info(f"Removed container: {self.next_name}")
 
+        self._prepare_relay()
+
         self._run_container(self.next_name, self.next_port)
         self.logger.info(f"Started new container: {self.next_name}")
 
         # 새 서비스가 'UP' 상태가 될 때까지 기다림
-        while not self._is_service_up(self.next_port):
+        while not self._is_service_up(self.management_ports[self.next_name]):
             self.logger.info(f"Waiting for {self.next_name} to be 'UP'...")
             print(f"Waiting for {self.next_name} to be 'UP'...")
             time.sleep(self.sleep_duration)
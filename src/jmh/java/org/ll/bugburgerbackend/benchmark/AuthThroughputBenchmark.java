@@ -0,0 +1,116 @@
+package org.ll.bugburgerbackend.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 로그인/회원가입 처리량
+// 실제 HTTP 요청으로 필터, BCrypt 전용 풀, DB 까지 모두 거친다. 요청 스레드 수를 코어 수보다 많게 잡아 로그인 폭주를 흉내 낸다.
+// 응답 코드는 보조 카운터로 집계한다. busy 는 BCrypt 대기열이 가득 차 503 으로 거절된 요청 수다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class AuthThroughputBenchmark {
+    private static final String PASSWORD = "bench-password";
+    private static final String SIGN_IN_USERNAME = "bench-sign-in";
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET, Map.of());
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/members";
+        httpClient = HttpClient.newHttpClient();
+
+        int status = post("/sign-up", signUpBody(SIGN_IN_USERNAME, "signin"));
+        if (status != 200) {
+            throw new IllegalStateException("Failed to create sign-in member: " + status);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int signIn(Responses responses) throws Exception {
+        return responses.record(post("/sign-in",
+                "{\"username\":\"" + SIGN_IN_USERNAME + "\",\"password\":\"" + PASSWORD + "\"}"));
+    }
+
+    @Benchmark
+    public int signUp(Responses responses) throws Exception {
+        // nickname 은 unique, 최대 20자
+        String suffix = Long.toString(sequence.incrementAndGet(), 36);
+        return responses.record(post("/sign-up", signUpBody("bench-" + suffix, "n" + suffix)));
+    }
+
+    private int post(String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static String signUpBody(String username, String nickname) {
+        return "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\",\"nickname\":\"" + nickname
+                + "\",\"birth\":\"1950-01-01\",\"gender\":\"MALE\",\"dementiaStage\":\"초기\"}";
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+        public long ok;
+        public long busy;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ok = 0;
+            busy = 0;
+            failed = 0;
+        }
+
+        int record(int status) {
+            if (status == 200) {
+                ok++;
+            } else if (status == 503) {
+                busy++;
+            } else {
+                failed++;
+            }
+            return status;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.ll.bugburgerbackend.benchmark;
+
+import org.ll.bugburgerbackend.BugburgerBackendApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+// 벤치마크용으로 애플리케이션을 H2 메모리 DB 위에 띄운다.
+// 운영 설정(application-secret.yml)이 없어도 뜰 수 있도록 필요한 값을 모두 채워 넣는다.
+public final class BenchmarkApplication {
+    public static final String JWT_SECRET = "benchmark-secret-key-benchmark-secret-key-benchmark-secret-key-0123";
+    public static final String PROMPT = "이름 %s, 생년 %s, 성별 %s, 단계 %s, 관심사 %s, 배경 %s, 가족 %s, 최근 분석 %s";
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(WebApplicationType webApplicationType, Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.profiles.active", "bench");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:bench-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.properties.hibernate.format_sql", "false");
+        properties.put("spring.jpa.properties.hibernate.highlight_sql", "false");
+        properties.put("spring.jpa.properties.hibernate.use_sql_comments", "false");
+        properties.put("spring.output.ansi.enabled", "NEVER");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.springframework.security", "WARN");
+        properties.put("server.port", "0");
+        properties.put("management.server.port", "0");
+        properties.put("gemini.api.key", "benchmark");
+        properties.put("gemini.api.prompt", PROMPT);
+        properties.put("custom.jwt.secretKey", JWT_SECRET);
+        properties.put("custom.accessToken.expirationSeconds", "3600");
+        properties.put("custom.site.cookieDomain", "localhost");
+        properties.put("custom.chat.writeBehind.spillDir", tempSpillDir().toString());
+        properties.putAll(overrides);
+
+        SpringApplication application = new SpringApplication(BugburgerBackendApplication.class);
+        application.setWebApplicationType(webApplicationType);
+        // defaultProperties 는 application.yml 보다 우선순위가 낮으므로 커맨드라인 인자로 넘긴다.
+        return application.run(properties.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new));
+    }
+
+    private static Path tempSpillDir() {
+        try {
+            return Files.createTempDirectory("bugburger-bench").resolve("chat-write-behind");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package org.ll.bugburgerbackend.benchmark;
+
+import org.ll.bugburgerbackend.domain.chat.entity.Chat;
+import org.ll.bugburgerbackend.domain.chat.repository.ChatRepository;
+import org.ll.bugburgerbackend.domain.member.entity.Member;
+import org.ll.bugburgerbackend.domain.member.repository.MemberRepository;
+import org.ll.bugburgerbackend.global.type.ChatType;
+import org.ll.bugburgerbackend.global.type.DementiaStage;
+import org.ll.bugburgerbackend.global.type.GenderType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Chat insert 처리량 비교
+// identityRoundTrip: 이전 IDENTITY 전략과 같은 방식(행마다 insert 후 생성 키를 읽음)
+// pooledBatch: PooledSequenceGenerator + hibernate.jdbc.batch_size 로 한 트랜잭션에서 배치 insert
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatInsertBenchmark {
+    private static final int ROWS = 100;
+
+    private ConfigurableApplicationContext context;
+    private DataSource dataSource;
+    private ChatRepository chatRepository;
+    private TransactionTemplate transactionTemplate;
+    private Member member;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start(WebApplicationType.NONE, Map.of(
+                "custom.chat.writeBehind.enabled", "false"
+        ));
+        dataSource = context.getBean(DataSource.class);
+        chatRepository = context.getBean(ChatRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        member = context.getBean(MemberRepository.class).save(Member.builder()
+                .username("bench")
+                .nickname("bench-" + UUID.randomUUID().toString().substring(0, 8))
+                .birth("1950-01-01")
+                .gender(GenderType.FEMALE)
+                .dementiaStage(DementiaStage.초기)
+                .build());
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    create table chat_identity_baseline (
+                        id bigint auto_increment primary key,
+                        member_id bigint,
+                        message text,
+                        chat_type varchar(20) not null,
+                        created_at timestamp,
+                        modified_at timestamp
+                    )
+                    """);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long identityRoundTrip() throws Exception {
+        long lastId = 0;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     "insert into chat_identity_baseline (member_id, message, chat_type, created_at, modified_at) values (?, ?, ?, ?, ?)",
+                     Statement.RETURN_GENERATED_KEYS)) {
+            connection.setAutoCommit(false);
+            for (int i = 0; i < ROWS; i++) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                ps.setLong(1, member.getId());
+                ps.setString(2, "benchmark message " + i);
+                ps.setString(3, ChatType.AI.name());
+                ps.setTimestamp(4, now);
+                ps.setTimestamp(5, now);
+                ps.executeUpdate();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    keys.next();
+                    lastId = keys.getLong(1);
+                }
+            }
+            connection.commit();
+        }
+        return lastId;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int pooledBatch() {
+        return transactionTemplate.execute(status -> {
+            List<Chat> chats = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                chats.add(Chat.builder()
+                        .member(member)
+                        .message("benchmark message " + i)
+                        .chatType(ChatType.AI)
+                        .build());
+            }
+            return chatRepository.saveAll(chats).size();
+        });
+    }
+}
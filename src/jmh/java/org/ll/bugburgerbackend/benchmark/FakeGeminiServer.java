@@ -0,0 +1,140 @@
+package org.ll.bugburgerbackend.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// 벤치마크용 Gemini 대역
+// generateContent 와 streamGenerateContent(alt=sse) 를 흉내 낸다. 요청 바디는 끝까지 읽어 버리고,
+// latency ± jitter 만큼 기다린 뒤 transcript 가 responseBytes 인 응답을 돌려준다.
+// errorRate 비율만큼은 Gemini 가 과부하일 때처럼 503 을 돌려준다.
+// 지연은 가상 스레드에서 기다리므로 동시 요청 수가 서버 스레드 수에 묶이지 않는다.
+public final class FakeGeminiServer implements AutoCloseable {
+    private static final int STREAM_CHUNKS = 4;
+
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+    private final String transcript;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder requestBytes = new LongAdder();
+
+    public FakeGeminiServer(long latencyMillis, long jitterMillis, double errorRate, int responseBytes) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.errorRate = errorRate;
+        this.transcript = transcriptOf(responseBytes);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/v1beta/models/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getRequestBytes() {
+        return requestBytes.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.increment();
+            try (InputStream in = exchange.getRequestBody()) {
+                requestBytes.add(in.transferTo(OutputStream.nullOutputStream()));
+            }
+
+            sleep();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                errors.increment();
+                send(exchange, 503, "application/json",
+                        "{\"error\":{\"code\":503,\"message\":\"The model is overloaded.\",\"status\":\"UNAVAILABLE\"}}");
+                return;
+            }
+
+            if (exchange.getRequestURI().getPath().endsWith(":streamGenerateContent")) {
+                send(exchange, 200, "text/event-stream", streamBody());
+            } else {
+                send(exchange, 200, "application/json", response(transcript));
+            }
+        }
+    }
+
+    private void sleep() {
+        long delay = latencyMillis;
+        if (jitterMillis > 0) {
+            delay += ThreadLocalRandom.current().nextLong(-jitterMillis, jitterMillis + 1);
+        }
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String streamBody() {
+        StringBuilder body = new StringBuilder(transcript.length() + 512);
+        int chunkSize = Math.max(1, (transcript.length() + STREAM_CHUNKS - 1) / STREAM_CHUNKS);
+        for (int start = 0; start < transcript.length(); start += chunkSize) {
+            String chunk = transcript.substring(start, Math.min(transcript.length(), start + chunkSize));
+            body.append("data: ").append(response(chunk)).append("\r\n\r\n");
+        }
+        return body.toString();
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String response(String text) {
+        return "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + text + "\"}],\"role\":\"model\"},"
+                + "\"finishReason\":\"STOP\",\"index\":0}],"
+                + "\"usageMetadata\":{\"promptTokenCount\":812,\"candidatesTokenCount\":64,\"totalTokenCount\":876},"
+                + "\"modelVersion\":\"gemini-2.0-flash\"}";
+    }
+
+    // 이스케이프가 필요 없는 한글 문장을 반복해 대략 responseBytes(UTF-8) 크기로 맞춘다.
+    private static String transcriptOf(int responseBytes) {
+        String sentence = "오늘은 손주와 함께 공원에 다녀오셨군요. 날씨가 좋아서 산책하기 좋으셨겠어요. ";
+        int sentenceBytes = sentence.getBytes(StandardCharsets.UTF_8).length;
+        return sentence.repeat(Math.max(1, responseBytes / sentenceBytes));
+    }
+}
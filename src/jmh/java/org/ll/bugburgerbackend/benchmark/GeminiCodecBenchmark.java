@@ -0,0 +1,84 @@
+package org.ll.bugburgerbackend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ll.bugburgerbackend.domain.chat.client.GeminiCodec;
+import org.ll.bugburgerbackend.domain.chat.context.ConversationTurn;
+import org.ll.bugburgerbackend.global.type.ChatType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// speechToText 요청마다 도는 Gemini JSON 처리
+// readTranscript: 응답에서 candidates[0].content.parts[0].text 만 꺼낸다. (예전 ChatController.extractGeminiTranscript 자리)
+// writeRequest: 최근 대화 + base64 오디오 + 프롬프트로 요청 바디를 만든다. 출력은 버린다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeminiCodecBenchmark {
+    private static final int HISTORY_TURNS = 10;
+
+    @Param({"1024", "16384"})
+    public int responseBytes;
+
+    @Param({"16384", "262144"})
+    public int audioBytes;
+
+    private GeminiCodec codec;
+    private byte[] response;
+    private ByteArrayResource audio;
+    private List<ConversationTurn> history;
+
+    @Setup
+    public void setUp() {
+        codec = new GeminiCodec(new ObjectMapper());
+
+        String sentence = "오늘은 손주와 함께 공원에 다녀오셨군요. ";
+        String text = sentence.repeat(Math.max(1, responseBytes / sentence.getBytes(StandardCharsets.UTF_8).length));
+        response = ("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + text + "\"}],\"role\":\"model\"},"
+                + "\"finishReason\":\"STOP\",\"index\":0,\"safetyRatings\":[{\"category\":\"HARM_CATEGORY_HARASSMENT\","
+                + "\"probability\":\"NEGLIGIBLE\"}]}],\"usageMetadata\":{\"promptTokenCount\":812,"
+                + "\"candidatesTokenCount\":64,\"totalTokenCount\":876},\"modelVersion\":\"gemini-2.0-flash\"}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        byte[] bytes = new byte[audioBytes];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        audio = new ByteArrayResource(bytes);
+
+        history = new ArrayList<>();
+        for (int i = 0; i < HISTORY_TURNS; i++) {
+            history.add(ConversationTurn.text(i % 2 == 0 ? ChatType.PATIENT : ChatType.AI, "이전 대화 " + i + " 번째 문장입니다."));
+        }
+    }
+
+    @Benchmark
+    public String readTranscript() throws IOException {
+        return codec.readTranscript(new ByteArrayInputStream(response));
+    }
+
+    @Benchmark
+    public void writeRequest() throws IOException {
+        codec.writeGenerateContentRequest(OutputStream.nullOutputStream(), history, BenchmarkApplication.PROMPT,
+                "audio/webm", audio);
+    }
+}
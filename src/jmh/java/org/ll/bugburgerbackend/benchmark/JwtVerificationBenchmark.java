@@ -0,0 +1,71 @@
+package org.ll.bugburgerbackend.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.ll.bugburgerbackend.global.Ut.Ut;
+import org.ll.bugburgerbackend.global.jwt.JwtVerifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 액세스 토큰 발급/검증 비용 비교
+// issue: 로그인과 토큰 재발급마다 도는 Ut.jwt.toString
+// legacyIsValidThenPayload: 기존 필터 경로(Ut.jwt.isValid 후 Ut.jwt.payload, 매번 키와 파서 생성, 서명 2회 검증)
+// coldVerify: JwtVerifier 캐시 미스(서명 1회 검증)
+// warmVerify: JwtVerifier 캐시 히트
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+    private String token;
+    private JwtVerifier coldVerifier;
+    private JwtVerifier warmVerifier;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        token = Ut.jwt.toString(BenchmarkApplication.JWT_SECRET, 3600, Map.of("id", 1L, "username", "bench"));
+        // 캐시 크기 0 이면 항상 미스
+        coldVerifier = new JwtVerifier(BenchmarkApplication.JWT_SECRET, 0);
+        warmVerifier = new JwtVerifier(BenchmarkApplication.JWT_SECRET, 1024);
+        warmVerifier.verify(token);
+    }
+
+    @Benchmark
+    public String issue() {
+        return Ut.jwt.toString(BenchmarkApplication.JWT_SECRET, 3600, Map.of("id", 1L, "username", "bench"));
+    }
+
+    @Benchmark
+    public Map<String, Object> legacyIsValidThenPayload() {
+        if (!Ut.jwt.isValid(BenchmarkApplication.JWT_SECRET, token)) {
+            return null;
+        }
+        return Ut.jwt.payload(BenchmarkApplication.JWT_SECRET, token);
+    }
+
+    @Benchmark
+    public Map<String, Object> coldVerify() {
+        return coldVerifier.verify(token);
+    }
+
+    @Benchmark
+    public Map<String, Object> warmVerify() {
+        return warmVerifier.verify(token);
+    }
+}
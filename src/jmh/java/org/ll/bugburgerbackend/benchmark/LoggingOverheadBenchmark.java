@@ -0,0 +1,142 @@
+package org.ll.bugburgerbackend.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.ll.bugburgerbackend.global.logging.LogSamplingTurboFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+// 요청 경로의 로깅 비용 비교. 할당량은 -PjmhProfilers=gc 로 실행해 gc.alloc.rate.norm 으로 본다.
+// logback-spring.xml 과 같은 구성(INFO, AsyncAppender neverBlock, 샘플링 TurboFilter)을 코드로 만들고 출력은 버린다.
+// legacy*: 이전 JwtAuthenticationFilter / MemberService.signUp 의 로그 호출
+// current*: 지금의 로그 호출 (요청마다 남는 로그는 TRACE/DEBUG, 구조화 필드는 지연 계산)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingOverheadBenchmark {
+    private static final String URI = "/api/v1/chats/history";
+    private static final String TOKEN = "eyJhbGciOiJIUzUxMiJ9.eyJpZCI6MSwidXNlcm5hbWUiOiJiZW5jaCJ9.signature";
+    private static final String PASSWORD = "bench-password";
+    private static final String ENCODED_PASSWORD = "$2a$10$0123456789012345678901uDhYz5u9yQ2bJX7y8tQ0Q9m1W2e3r4t";
+
+    private LoggerContext loggerContext;
+    private Logger legacyLog;
+    private Logger currentLog;
+    private Long memberId;
+
+    @Setup
+    public void setUp() {
+        loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d %5p [%t] %logger{39} : %m %kvp%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setContext(loggerContext);
+        sink.setEncoder(encoder);
+        sink.setOutputStream(OutputStream.nullOutputStream());
+        sink.start();
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(loggerContext);
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(1024);
+        async.setNeverBlock(true);
+        async.addAppender(sink);
+        async.start();
+
+        // 대상이 아닌 logger 에서도 모든 호출이 거쳐 가므로 비용에 포함시킨다.
+        LogSamplingTurboFilter samplingFilter = new LogSamplingTurboFilter();
+        samplingFilter.setLoggerPrefix("org.ll.bugburgerbackend.global.filter");
+        samplingFilter.setLevel("ERROR");
+        samplingFilter.setMaxPerSecond(20);
+        samplingFilter.setContext(loggerContext);
+        samplingFilter.start();
+        loggerContext.addTurboFilter(samplingFilter);
+
+        Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(async);
+
+        legacyLog = loggerContext.getLogger("bench.legacy");
+        currentLog = loggerContext.getLogger("bench.current");
+        memberId = 42L;
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public void legacyFilterRequest() {
+        legacyLog.info("[JwtAuthFilter] START for URI: {}", URI);
+        legacyLog.debug("[JwtAuthFilter] Authorization header: {}", "Bearer " + TOKEN);
+        legacyLog.debug("[JwtAuthFilter] Extracted token: {}", TOKEN);
+        legacyLog.debug("[JwtAuthFilter] User ID from token: {}, Username from token: {}", memberId, "bench");
+        legacyLog.info("[JwtAuthFilter] Successfully set Authentication in SecurityContext for user: {}", "bench");
+        legacyLog.info("[JwtAuthFilter] END for URI: {}", URI);
+    }
+
+    @Benchmark
+    public void currentFilterRequest() {
+        currentLog.trace("[JwtAuthFilter] START for URI: {}", URI);
+        currentLog.debug("[JwtAuthFilter] Authenticated member {}", memberId);
+        currentLog.trace("[JwtAuthFilter] END for URI: {}", URI);
+    }
+
+    @Benchmark
+    public void legacySignUp() {
+        legacyLog.info("[SignUp] Attempting to sign up user: {}, nickname: {}", "bench", "bench");
+        legacyLog.info("[SignUp] Plain password for new user {}: '{}' (length: {})", "bench", PASSWORD, PASSWORD.length());
+        StringBuilder rawPasswordChars = new StringBuilder();
+        for (char c : PASSWORD.toCharArray()) {
+            rawPasswordChars.append(String.format("'%c'(%d) ", c, (int) c));
+        }
+        legacyLog.info("[SignUp] Plain password characters for user {} (char, int_value): [{}]", "bench", rawPasswordChars.toString().trim());
+        legacyLog.info("[SignUp] Encoded password for user {}: '{}' (length: {})", "bench", ENCODED_PASSWORD, ENCODED_PASSWORD.length());
+        legacyLog.info("3. Raw Password Bytes (UTF-8) from Request: {}", Arrays.toString(PASSWORD.getBytes(StandardCharsets.UTF_8)));
+        legacyLog.info("[SignUp] User {} signed up successfully with ID: {}", "bench", memberId);
+    }
+
+    @Benchmark
+    public void currentSignUp() {
+        currentLog.atInfo().setMessage("[SignUp] Member created").addKeyValue("memberId", this::memberId).log();
+    }
+
+    // 꺼진 레벨의 fluent 호출. NOP 빌더가 반환되어 필드 계산이 일어나지 않아야 한다.
+    @Benchmark
+    public void disabledStructuredDebug() {
+        currentLog.atDebug().setMessage("[SignIn] Password mismatch").addKeyValue("memberId", this::memberId).log();
+    }
+
+    private Object memberId() {
+        return memberId;
+    }
+}
@@ -0,0 +1,52 @@
+package org.ll.bugburgerbackend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ll.bugburgerbackend.domain.member.dto.MemberInfoResponse;
+import org.ll.bugburgerbackend.domain.member.dto.MemberSnapshot;
+import org.ll.bugburgerbackend.global.type.DementiaStage;
+import org.ll.bugburgerbackend.global.type.GenderType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// GET /api/v1/members/my 응답 만들기
+// from: 로그인 스냅샷을 응답 DTO 로 옮기기만 한다.
+// fromAndSerialize: 컨트롤러가 실제로 하는 것처럼 Jackson 으로 바이트까지 쓴다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemberInfoBenchmark {
+    private ObjectMapper objectMapper;
+    private MemberSnapshot member;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        member = new MemberSnapshot(1L, "bench", "벤치", "1950-01-01", GenderType.MALE, DementiaStage.초기,
+                "산책, 트로트", "서울에서 40년 동안 교사로 일했다.", "아들 하나, 손주 둘", "최근 대화에서 기억력 저하가 조금 보인다.",
+                "김보호", "010-1234-5678", "010-8765-4321", "caregiver@example.com");
+    }
+
+    @Benchmark
+    public MemberInfoResponse from() {
+        return MemberInfoResponse.from(member);
+    }
+
+    @Benchmark
+    public byte[] fromAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(MemberInfoResponse.from(member));
+    }
+}
@@ -0,0 +1,64 @@
+package org.ll.bugburgerbackend.benchmark;
+
+import org.ll.bugburgerbackend.domain.chat.prompt.PromptService;
+import org.ll.bugburgerbackend.domain.chat.prompt.PromptTemplate;
+import org.ll.bugburgerbackend.domain.member.dto.MemberSnapshot;
+import org.ll.bugburgerbackend.global.type.DementiaStage;
+import org.ll.bugburgerbackend.global.type.GenderType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// speechToText 의 프롬프트 조립
+// legacyFormat: 예전처럼 요청마다 String.format
+// compiledTemplate: 미리 컴파일한 PromptTemplate 로 렌더링 (캐시 미스 경로)
+// cachedRender: PromptService.render 캐시 히트 (평소 경로)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromptBenchmark {
+    private MemberSnapshot member;
+    private PromptTemplate template;
+    private PromptService promptService;
+
+    @Setup
+    public void setUp() {
+        member = new MemberSnapshot(1L, "bench", "벤치", "1950-01-01", GenderType.MALE, DementiaStage.초기,
+                "산책, 트로트", "서울에서 40년 동안 교사로 일했다.", "아들 하나, 손주 둘", "최근 대화에서 기억력 저하가 조금 보인다.",
+                "김보호", "010-1234-5678", "010-8765-4321", "caregiver@example.com");
+        template = PromptTemplate.compile(BenchmarkApplication.PROMPT);
+        promptService = new PromptService(BenchmarkApplication.PROMPT, 1024);
+        promptService.render(member);
+    }
+
+    @Benchmark
+    public String legacyFormat() {
+        return String.format(BenchmarkApplication.PROMPT,
+                member.username(), member.birth(), member.gender(), member.dementiaStage(),
+                member.interests(), member.background(), member.family(), member.recentAnalysis());
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return template.render(
+                member.username(), member.birth(), member.gender(), member.dementiaStage(),
+                member.interests(), member.background(), member.family(), member.recentAnalysis());
+    }
+
+    @Benchmark
+    public String cachedRender() {
+        return promptService.render(member);
+    }
+}
@@ -0,0 +1,411 @@
+package org.ll.bugburgerbackend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// /signal 전달 지연을 열린 루프(open loop)로 잰다.
+// peers 개의 WebSocket 을 두 명씩 방에 넣고, 방마다 offer -> answer -> candidate 4개 -> 반대쪽 candidate 4개 순서를 되풀이한다.
+// 보내는 쪽은 응답을 기다리지 않고 messagesPerSecond 의 일정한 간격으로 방을 돌아가며 다음 메시지를 보내므로
+// 모든 방이 동시에 메시지를 주고받는다. (같은 세션의 전송은 java.net.http.WebSocket 규칙대로 앞 전송 뒤에 이어 붙인다)
+//
+// 메시지마다 순번을 붙이고, 지연은 "보내기로 예정된 시각"부터 상대가 받은 시각까지로 잰다.
+// 보내는 쪽이 밀려 늦게 보낸 시간도 지연에 들어가므로 서버가 느려질 때 측정이 함께 느슨해지지 않는다. (coordinated omission)
+//
+// 호출 한 번이 durationSeconds 동안의 부하 한 번이다. 주 점수(SingleShotTime)는 의미가 없고,
+// 메시지 지연 분위수(µs)와 전달/유실 수를 @AuxCounters 로 남겨 build/results/jmh/results.json 의 secondaryMetrics 로 비교한다.
+// candidate 묶기는 지연을 일부러 늘리는 기능이라 끄고 잰다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Threads(1)
+@Fork(1)
+public class SignalingLoadBenchmark {
+    private static final long DELIVERY_TIMEOUT_SECONDS = 10;
+    private static final String SEQ_PREFIX = "{\"seq\":";
+
+    @Param({"16", "128", "512"})
+    public int peers;
+
+    // 서버에 거는 부하(초당 메시지 수). 방 수와 관계없이 전체 합이다.
+    @Param({"1000", "10000"})
+    public int messagesPerSecond;
+
+    @Param({"5"})
+    public int durationSeconds;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private final List<Room> rooms = new ArrayList<>();
+
+    // 지금 진행 중인 부하. 받는 쪽 스레드가 읽는다.
+    private volatile Load load;
+    private long nextSeq;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET, Map.of(
+                "custom.signaling.candidateBatchWindowMillis", "0",
+                "custom.signaling.maxRoomSize", "2"
+        ));
+        String port = context.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newHttpClient();
+
+        String accessToken = signUp("http://localhost:" + port + "/api/v1/members/sign-up");
+        URI signalUri = URI.create("ws://localhost:" + port + "/signal");
+        for (int i = 0; i < peers / 2; i++) {
+            String room = "bench-room-" + i;
+            rooms.add(new Room(connect(signalUri, accessToken, room), connect(signalUri, accessToken, room)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (Room room : rooms) {
+            room.caller.close();
+            room.callee.close();
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public void openLoop(Latency latency) throws InterruptedException {
+        int total = Math.multiplyExact(messagesPerSecond, durationSeconds);
+        Load current = new Load(nextSeq, total);
+        nextSeq += total;
+        load = current;
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / messagesPerSecond;
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+        for (int i = 0; i < total; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            current.scheduledNanos[i] = scheduled;
+            // 방을 돌아가며 보내므로 모든 방이 동시에 진행된다.
+            rooms.get(i % rooms.size()).send(current.firstSeq + i);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DELIVERY_TIMEOUT_SECONDS);
+        while (current.delivered.get() < total && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        latency.record(current.latencies(), total);
+    }
+
+    // 받은 쪽 스레드에서 불린다.
+    private void onDelivered(long seq, long receivedNanos) {
+        Load current = load;
+        if (current != null) {
+            current.deliver(seq, receivedNanos);
+        }
+    }
+
+    // 호출 한 번의 부하. 순번은 호출을 넘어 이어서 매기고 다시 쓰지 않는다.
+    // 앞 호출에서 시간 안에 못 받은 메시지가 늦게 오면 순번이 이번 범위 밖이라 세지 않는다.
+    private static final class Load {
+        private final long firstSeq;
+        // 순번별 예정 송신 시각과, 받은 순서대로 쌓는 지연
+        private final long[] scheduledNanos;
+        private final long[] latencies;
+        private final AtomicInteger delivered = new AtomicInteger();
+
+        Load(long firstSeq, int total) {
+            this.firstSeq = firstSeq;
+            this.scheduledNanos = new long[total];
+            this.latencies = new long[total];
+        }
+
+        void deliver(long seq, long receivedNanos) {
+            long index = seq - firstSeq;
+            if (index < 0 || index >= scheduledNanos.length) {
+                return;
+            }
+            int slot = delivered.getAndIncrement();
+            if (slot < latencies.length) {
+                latencies[slot] = receivedNanos - scheduledNanos[(int) index];
+            }
+        }
+
+        long[] latencies() {
+            return Arrays.copyOf(latencies, Math.min(delivered.get(), latencies.length));
+        }
+    }
+
+    // results.json 에 secondaryMetrics 로 남는다. 분위수는 µs 다.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Latency {
+        public long delivered;
+        public long lost;
+        public double p50Micros;
+        public double p99Micros;
+        public double p999Micros;
+        public double maxMicros;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            delivered = 0;
+            lost = 0;
+            p50Micros = 0;
+            p99Micros = 0;
+            p999Micros = 0;
+            maxMicros = 0;
+        }
+
+        void record(long[] latencies, int sent) {
+            Arrays.sort(latencies);
+            delivered = latencies.length;
+            lost = sent - latencies.length;
+            if (latencies.length == 0) {
+                return;
+            }
+            p50Micros = percentileMicros(latencies, 0.50);
+            p99Micros = percentileMicros(latencies, 0.99);
+            p999Micros = percentileMicros(latencies, 0.999);
+            maxMicros = latencies[latencies.length - 1] / 1_000.0;
+        }
+
+        private static double percentileMicros(long[] sorted, double percentile) {
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000.0;
+        }
+    }
+
+    private String signUp(String url) throws Exception {
+        String body = "{\"username\":\"bench-signal\",\"password\":\"bench-password\",\"nickname\":\"signal\""
+                + ",\"birth\":\"1950-01-01\",\"gender\":\"MALE\",\"dementiaStage\":\"초기\"}";
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(url))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Failed to create signaling member: " + response.statusCode());
+        }
+        return new ObjectMapper().readTree(response.body()).get("accessToken").asText();
+    }
+
+    private Peer connect(URI uri, String accessToken, String room) throws Exception {
+        Peer peer = new Peer(this);
+        peer.webSocket = httpClient.newWebSocketBuilder()
+                .header("Authorization", "Bearer " + accessToken)
+                .buildAsync(uri, peer)
+                .join();
+        peer.webSocket.sendText("{\"type\":\"join\",\"room\":\"" + room + "\"}", true).join();
+        if (!peer.joined.await(DELIVERY_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Timed out joining " + room);
+        }
+        return peer;
+    }
+
+    // 보내는 스레드 하나만 쓴다.
+    private static class Room {
+        private final Peer caller;
+        private final Peer callee;
+        private int step;
+
+        Room(Peer caller, Peer callee) {
+            this.caller = caller;
+            this.callee = callee;
+        }
+
+        void send(long seq) {
+            int current = step;
+            step = (step + 1) % 10;
+
+            if (current == 0) {
+                caller.send(seq, Traffic.OFFER);
+            } else if (current == 1) {
+                callee.send(seq, Traffic.ANSWER);
+            } else if (current < 6) {
+                caller.send(seq, Traffic.CANDIDATES[current - 2]);
+            } else {
+                callee.send(seq, Traffic.CANDIDATES[current - 6]);
+            }
+        }
+    }
+
+    // 벤치마크 메시지는 {"seq":N, 로 시작한다. 서버가 보내는 joined/peer-joined 같은 알림은 세지 않는다.
+    private static class Peer implements WebSocket.Listener {
+        private final SignalingLoadBenchmark benchmark;
+        private final CountDownLatch joined = new CountDownLatch(1);
+        private final StringBuilder partial = new StringBuilder();
+        private WebSocket webSocket;
+        // 앞 전송이 끝나기 전에 sendText 를 다시 부르면 안 되므로 이어 붙인다. 기다리지는 않는다.
+        private CompletableFuture<WebSocket> lastSend = CompletableFuture.completedFuture(null);
+
+        Peer(SignalingLoadBenchmark benchmark) {
+            this.benchmark = benchmark;
+        }
+
+        void send(long seq, String template) {
+            String message = SEQ_PREFIX + seq + "," + template.substring(1);
+            lastSend = lastSend.thenCompose(ignored -> webSocket.sendText(message, true));
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                long receivedNanos = System.nanoTime();
+                String message = partial.toString();
+                partial.setLength(0);
+                if (message.startsWith(SEQ_PREFIX)) {
+                    benchmark.onDelivered(parseSeq(message), receivedNanos);
+                } else if (message.contains("\"type\":\"joined\"")) {
+                    joined.countDown();
+                }
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        private static long parseSeq(String message) {
+            int end = message.indexOf(',', SEQ_PREFIX.length());
+            return end < 0 ? -1 : Long.parseLong(message, SEQ_PREFIX.length(), end, 10);
+        }
+
+        void close() {
+            lastSend.join();
+            webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "").join();
+        }
+    }
+
+    // 브라우저가 만드는 것과 비슷한 크기와 모양의 SDP/ICE 메시지
+    private static final class Traffic {
+        static final String OFFER = description("offer", "actpass");
+        static final String ANSWER = description("answer", "active");
+        static final String[] CANDIDATES = {
+                candidate("candidate:842163049 1 udp 1677729535 203.0.113.7 61044 typ srflx raddr 192.168.0.12 rport 61044 generation 0 ufrag sB3k network-cost 999", 0),
+                candidate("candidate:1467250027 1 udp 2122260223 192.168.0.12 61044 typ host generation 0 ufrag sB3k network-id 1", 0),
+                candidate("candidate:2999745851 1 tcp 1518280447 192.168.0.12 9 typ host tcptype active generation 0 ufrag sB3k network-id 1", 1),
+                candidate("candidate:3350409123 1 udp 41885439 198.51.100.20 3478 typ relay raddr 203.0.113.7 rport 61044 generation 0 ufrag sB3k", 1),
+        };
+
+        private Traffic() {
+        }
+
+        private static String description(String type, String setup) {
+            String[] lines = {
+                    "v=0",
+                    "o=- 4611731400430051336 2 IN IP4 127.0.0.1",
+                    "s=-",
+                    "t=0 0",
+                    "a=group:BUNDLE 0 1",
+                    "a=extmap-allow-mixed",
+                    "a=msid-semantic: WMS stream",
+                    "m=audio 9 UDP/TLS/RTP/SAVPF 111 63 9 0 8 13 110 126",
+                    "c=IN IP4 0.0.0.0",
+                    "a=rtcp:9 IN IP4 0.0.0.0",
+                    "a=ice-ufrag:sB3k",
+                    "a=ice-pwd:Kc3pBqfL0GxVHq7o3rL9fWmZ",
+                    "a=ice-options:trickle",
+                    "a=fingerprint:sha-256 7B:8B:F0:65:5F:78:E2:51:3B:AC:6F:F3:3F:46:1B:35:DC:B8:5F:64:1A:24:C2:43:F0:A1:58:D0:A1:2C:19:08",
+                    "a=setup:" + setup,
+                    "a=mid:0",
+                    "a=extmap:1 urn:ietf:params:rtp-hdrext:ssrc-audio-level",
+                    "a=extmap:2 http://www.webrtc.org/experiments/rtp-hdrext/abs-send-time",
+                    "a=extmap:3 http://www.ietf.org/id/draft-holmer-rmcat-transport-wide-cc-extensions-01",
+                    "a=sendrecv",
+                    "a=msid:stream audio-track",
+                    "a=rtcp-mux",
+                    "a=rtpmap:111 opus/48000/2",
+                    "a=rtcp-fb:111 transport-cc",
+                    "a=fmtp:111 minptime=10;useinbandfec=1",
+                    "a=rtpmap:63 red/48000/2",
+                    "a=fmtp:63 111/111",
+                    "a=rtpmap:9 G722/8000",
+                    "a=rtpmap:0 PCMU/8000",
+                    "a=rtpmap:8 PCMA/8000",
+                    "a=rtpmap:13 CN/8000",
+                    "a=rtpmap:110 telephone-event/48000",
+                    "a=rtpmap:126 telephone-event/8000",
+                    "a=ssrc:1001 cname:bench",
+                    "m=video 9 UDP/TLS/RTP/SAVPF 96 97 102 103 104 105 106 107 108 109 127 125",
+                    "c=IN IP4 0.0.0.0",
+                    "a=rtcp:9 IN IP4 0.0.0.0",
+                    "a=ice-ufrag:sB3k",
+                    "a=ice-pwd:Kc3pBqfL0GxVHq7o3rL9fWmZ",
+                    "a=ice-options:trickle",
+                    "a=fingerprint:sha-256 7B:8B:F0:65:5F:78:E2:51:3B:AC:6F:F3:3F:46:1B:35:DC:B8:5F:64:1A:24:C2:43:F0:A1:58:D0:A1:2C:19:08",
+                    "a=setup:" + setup,
+                    "a=mid:1",
+                    "a=extmap:14 urn:ietf:params:rtp-hdrext:toffset",
+                    "a=extmap:13 urn:3gpp:video-orientation",
+                    "a=sendrecv",
+                    "a=msid:stream video-track",
+                    "a=rtcp-mux",
+                    "a=rtcp-rsize",
+                    "a=rtpmap:96 VP8/90000",
+                    "a=rtcp-fb:96 goog-remb",
+                    "a=rtcp-fb:96 transport-cc",
+                    "a=rtcp-fb:96 ccm fir",
+                    "a=rtcp-fb:96 nack",
+                    "a=rtcp-fb:96 nack pli",
+                    "a=rtpmap:97 rtx/90000",
+                    "a=fmtp:97 apt=96",
+                    "a=rtpmap:102 H264/90000",
+                    "a=fmtp:102 level-asymmetry-allowed=1;packetization-mode=1;profile-level-id=42001f",
+                    "a=rtpmap:103 rtx/90000",
+                    "a=fmtp:103 apt=102",
+                    "a=rtpmap:104 VP9/90000",
+                    "a=fmtp:104 profile-id=0",
+                    "a=rtpmap:105 rtx/90000",
+                    "a=fmtp:105 apt=104",
+                    "a=rtpmap:106 AV1/90000",
+                    "a=rtpmap:107 rtx/90000",
+                    "a=fmtp:107 apt=106",
+                    "a=rtpmap:108 red/90000",
+                    "a=rtpmap:109 rtx/90000",
+                    "a=fmtp:109 apt=108",
+                    "a=rtpmap:127 ulpfec/90000",
+                    "a=rtpmap:125 flexfec-03/90000",
+                    "a=ssrc-group:FID 2001 2002",
+                    "a=ssrc:2001 cname:bench",
+                    "a=ssrc:2002 cname:bench",
+            };
+            return "{\"type\":\"" + type + "\",\"sdp\":\"" + String.join("\\r\\n", lines) + "\\r\\n\"}";
+        }
+
+        private static String candidate(String candidate, int mLineIndex) {
+            return "{\"type\":\"candidate\",\"candidate\":{\"candidate\":\"" + candidate
+                    + "\",\"sdpMid\":\"" + mLineIndex + "\",\"sdpMLineIndex\":" + mLineIndex + "}}";
+        }
+    }
+}
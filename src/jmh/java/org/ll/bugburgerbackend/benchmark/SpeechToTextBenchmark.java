@@ -0,0 +1,242 @@
+package org.ll.bugburgerbackend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ll.bugburgerbackend.domain.chat.service.ChatWriteBehindQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 음성 -> 텍스트 전체 경로
+// 업로드(multipart) -> 요청 인코딩 -> Gemini(FakeGeminiServer) -> 응답 파싱 -> 저장(write-behind) 을 실제 HTTP 로 거친다.
+// 회원은 스레드마다 하나씩 가입시켜 유효한 JWT 로 호출하고, 오디오는 요청마다 앞부분을 바꿔 중복 요청 캐시에 걸리지 않게 한다.
+//
+// throughput: 초당 요청 수, latency: 지연 분포(p50/p99/p99.9 는 results.json 의 scorePercentiles)
+// 반복마다 요청당 힙 할당량, 초당 DB insert 수, 응답 코드별 개수를 build/results/jmh/speech-to-text.jsonl 에 한 줄씩 남긴다.
+// 할당량은 앱, 대역 서버, 부하 클라이언트가 한 JVM 에 있으므로 셋을 합친 값이다. 빌드끼리 상대 비교용으로 본다.
+//
+// 지연, 흔들림, 오류율, 응답 크기는 -p latencyMillis=200 처럼 JMH 파라미터로 바꾼다.
+// errorRate 가 0 인데 200 이 아닌 응답이 있으면 측정이 잘못된 것이므로 그 반복을 실패로 끝낸다.
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(16)
+@Fork(1)
+public class SpeechToTextBenchmark {
+    private static final Path REPORT = Path.of("build", "results", "jmh", "speech-to-text.jsonl");
+
+    // 기본 multipart 파일 한도(1MB) 안에서 짧은 발화부터 긴 발화까지
+    @Param({"16384", "262144", "786432"})
+    public int audioBytes;
+
+    @Param({"300"})
+    public long latencyMillis;
+
+    @Param({"100"})
+    public long jitterMillis;
+
+    @Param({"0.0"})
+    public double errorRate;
+
+    @Param({"1024"})
+    public int responseBytes;
+
+    private FakeGeminiServer gemini;
+    private ConfigurableApplicationContext context;
+    private ChatWriteBehindQueue writeBehindQueue;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Map<Integer, LongAdder> failedByStatus = new ConcurrentHashMap<>();
+    private long iterationStartNanos;
+    private long iterationStartAllocated;
+    private long iterationStartInserted;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        gemini = new FakeGeminiServer(latencyMillis, jitterMillis, errorRate, responseBytes);
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET, Map.of("gemini.api.baseUrl", gemini.baseUrl()));
+        writeBehindQueue = context.getBean(ChatWriteBehindQueue.class);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        gemini.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        ok.reset();
+        failed.reset();
+        failedByStatus.clear();
+        iterationStartAllocated = allocatedBytes();
+        iterationStartInserted = writeBehindQueue.getInsertedRows();
+        iterationStartNanos = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportIteration(BenchmarkParams params) throws IOException {
+        double seconds = (System.nanoTime() - iterationStartNanos) / 1e9;
+        long requests = ok.sum() + failed.sum();
+        long allocated = allocatedBytes() - iterationStartAllocated;
+        long inserted = writeBehindQueue.getInsertedRows() - iterationStartInserted;
+        Map<Integer, Long> failures = new TreeMap<>();
+        failedByStatus.forEach((status, count) -> failures.put(status, count.sum()));
+
+        String line = String.format(
+                "{\"benchmark\":\"%s\",\"audioBytes\":%d,\"latencyMillis\":%d,\"jitterMillis\":%d,\"errorRate\":%s,"
+                        + "\"responseBytes\":%d,\"requests\":%d,\"ok\":%d,\"failed\":%d,\"failedByStatus\":%s,"
+                        + "\"allocatedBytesPerRequest\":%d,\"dbInsertsPerSecond\":%.1f}%n",
+                params.getBenchmark(), audioBytes, latencyMillis, jitterMillis, errorRate,
+                responseBytes, requests, ok.sum(), failed.sum(), failedByStatus(failures),
+                requests == 0 ? 0 : allocated / requests, inserted / seconds);
+        System.out.print(line);
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        // 대역 서버가 오류를 내지 않는데 실패했다면 인증, 업로드 한도, 큐 포화 같은 앱 쪽 문제다. 빠른 실패 응답이 점수를 올리지 않게 한다.
+        if (errorRate == 0 && !failures.isEmpty()) {
+            throw new IllegalStateException("Unexpected non-200 responses with errorRate=0: " + failures);
+        }
+    }
+
+    private static String failedByStatus(Map<Integer, Long> failures) {
+        StringBuilder json = new StringBuilder("{");
+        failures.forEach((status, count) -> {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"').append(status).append("\":").append(count);
+        });
+        return json.append('}').toString();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int throughput(Client client) throws Exception {
+        return record(client.post(this, "/api/v1/chats/speech-to-text"));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int latency(Client client) throws Exception {
+        return record(client.post(this, "/api/v1/chats/speech-to-text"));
+    }
+
+    private int record(int status) {
+        if (status == 200) {
+            ok.increment();
+        } else {
+            failed.increment();
+            failedByStatus.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+        return status;
+    }
+
+    // 모든 스레드(종료된 스레드 포함)가 지금까지 힙에 할당한 바이트
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getTotalThreadAllocatedBytes();
+    }
+
+    // 부하 스레드 하나 = 회원 한 명
+    @State(Scope.Thread)
+    public static class Client {
+        private static final String BOUNDARY = "----bench-boundary-7MA4YWxkTrZu0gW";
+
+        private String accessToken;
+        private byte[] audio;
+        private long sequence;
+
+        @Setup(Level.Trial)
+        public void setUp(SpeechToTextBenchmark benchmark, ThreadParams threadParams) throws Exception {
+            accessToken = signUp(benchmark, threadParams.getThreadIndex());
+            audio = webm(benchmark.audioBytes);
+        }
+
+        int post(SpeechToTextBenchmark benchmark, String path) throws Exception {
+            // 오디오 해시가 요청마다 달라지도록 EBML 헤더 뒤에 순번을 넣는다.
+            long value = ++sequence;
+            for (int i = 0; i < Long.BYTES; i++) {
+                audio[4 + i] = (byte) (value >>> (i * 8));
+            }
+
+            byte[] head = ("--" + BOUNDARY + "\r\n"
+                    + "Content-Disposition: form-data; name=\"audio\"; filename=\"speech.webm\"\r\n"
+                    + "Content-Type: audio/webm\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+            byte[] tail = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(benchmark.baseUrl + path))
+                    .header("Authorization", "Bearer " + accessToken)
+                    .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                    .POST(HttpRequest.BodyPublishers.ofByteArrays(List.of(head, audio, tail)))
+                    .build();
+            return benchmark.httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+
+        private static String signUp(SpeechToTextBenchmark benchmark, int index) throws Exception {
+            String body = "{\"username\":\"bench-stt-" + index + "\",\"password\":\"bench-password\""
+                    + ",\"nickname\":\"stt" + index + "\",\"birth\":\"1950-01-01\",\"gender\":\"MALE\",\"dementiaStage\":\"초기\""
+                    + ",\"interests\":\"산책, 트로트\",\"family\":\"아들 하나, 손주 둘\"}";
+            HttpResponse<String> response = benchmark.httpClient.send(
+                    HttpRequest.newBuilder(URI.create(benchmark.baseUrl + "/api/v1/members/sign-up"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Failed to create speech-to-text member: " + response.statusCode());
+            }
+            return new ObjectMapper().readTree(response.body()).get("accessToken").asText();
+        }
+
+        // EBML 매직으로 시작하는 webm 모양의 바이트. 내용은 서버가 해석하지 않으므로 무작위로 채운다.
+        private static byte[] webm(int size) {
+            byte[] bytes = new byte[Math.max(size, 16)];
+            ThreadLocalRandom.current().nextBytes(bytes);
+            bytes[0] = 0x1A;
+            bytes[1] = 0x45;
+            bytes[2] = (byte) 0xDF;
+            bytes[3] = (byte) 0xA3;
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package org.ll.bugburgerbackend.domain.chat.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 요청 바디를 쓰는 스레드와 HttpClient 가 읽는 스레드 사이의 고정 크기 버퍼
+// PipedInputStream 은 마지막으로 읽고 쓴 스레드가 살아 있는지로 상대편 상태를 짐작한다. 스레드 풀이나 가상 스레드에서는
+// 정상적으로 쓰는 중에도 "Write end dead"/"Read end dead" 로 끊기므로, 끝과 실패는 finish/fail 로 명시적으로 알린다.
+//
+// out.close() 는 더 쓰지 못하게만 한다. JsonGenerator 처럼 예외가 나도 출력을 닫는 쪽이 있어서,
+// close 를 바디의 끝으로 보면 잘린 요청이 정상 요청처럼 전송된다.
+// 락은 ReentrantLock 이다. 가상 스레드가 기다리는 동안 캐리어 스레드를 붙잡지 않는다.
+final class BodyPipe {
+    private final byte[] buffer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private int readIndex;
+    private int count;
+    private boolean outputClosed;
+    private boolean finished;
+    private boolean readerClosed;
+    private IOException failure;
+
+    private final InputStream in = new Input();
+    private final OutputStream out = new Output();
+
+    BodyPipe(int bufferBytes) {
+        this.buffer = new byte[bufferBytes];
+    }
+
+    InputStream inputStream() {
+        return in;
+    }
+
+    OutputStream outputStream() {
+        return out;
+    }
+
+    // 바디를 끝까지 썼다. 읽는 쪽은 남은 바이트 다음에 EOF 를 본다.
+    void finish() {
+        lock.lock();
+        try {
+            finished = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 바디를 끝까지 쓰지 못했다. 읽는 쪽은 남은 바이트와 상관없이 바로 cause 로 실패한다.
+    void fail(Throwable cause) {
+        lock.lock();
+        try {
+            if (failure == null && !finished) {
+                failure = cause instanceof IOException e ? e : new IOException("Failed to write request body", cause);
+            }
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private class Input extends InputStream {
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (failure != null) {
+                        throw new IOException("Request body writer failed", failure);
+                    }
+                    if (readerClosed) {
+                        throw new IOException("Stream closed");
+                    }
+                    if (count > 0) {
+                        break;
+                    }
+                    if (finished) {
+                        return -1;
+                    }
+                    await(notEmpty);
+                }
+
+                int n = Math.min(len, Math.min(count, buffer.length - readIndex));
+                System.arraycopy(buffer, readIndex, b, off, n);
+                readIndex = (readIndex + n) % buffer.length;
+                count -= n;
+                notFull.signalAll();
+                return n;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int available() {
+            lock.lock();
+            try {
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 요청이 취소되면 HttpClient 가 닫는다. 기다리던 writer 는 IOException 으로 빠져나온다.
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                readerClosed = true;
+                notFull.signalAll();
+                notEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private class Output extends OutputStream {
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                lock.lock();
+                try {
+                    while (true) {
+                        if (readerClosed) {
+                            throw new IOException("Request body reader closed");
+                        }
+                        if (outputClosed || finished || failure != null) {
+                            throw new IOException("Stream closed");
+                        }
+                        if (count < buffer.length) {
+                            break;
+                        }
+                        await(notFull);
+                    }
+
+                    int writeIndex = (readIndex + count) % buffer.length;
+                    int n = Math.min(len, Math.min(buffer.length - count, buffer.length - writeIndex));
+                    System.arraycopy(b, off, buffer, writeIndex, n);
+                    count += n;
+                    off += n;
+                    len -= n;
+                    notEmpty.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                outputClosed = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static void await(Condition condition) throws InterruptedIOException {
+        try {
+            condition.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for request body");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.ll.bugburgerbackend.domain.chat.client;
+
+import lombok.Getter;
+
+// Gemini API 가 200 이외의 응답을 돌려준 경우
+@Getter
+public class GeminiApiException extends RuntimeException {
+    private final int statusCode;
+
+    public GeminiApiException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+}
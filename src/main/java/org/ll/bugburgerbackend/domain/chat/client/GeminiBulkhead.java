@@ -0,0 +1,146 @@
+package org.ll.bugburgerbackend.domain.chat.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// 진행 중인 Gemini 호출 수를 제한한다.
+// 자리가 없으면 요청 스레드를 붙잡지 않고 future 로 대기열에 넣는다. 자리가 나면 먼저 온 순서대로 이어서 호출하고,
+// maxWaitMillis 안에 자리가 나지 않거나 대기열(maxQueuedCalls)이 가득 차면 GeminiBulkheadFullException 으로 거절한다.
+@Slf4j
+@Component
+public class GeminiBulkhead {
+    private final int maxConcurrentCalls;
+    private final long maxWaitMillis;
+    private final int maxQueuedCalls;
+
+    // available 과 waiters 는 waiters 로 잠근다. 대기자가 있으면 available 은 항상 0 이다.
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private int available;
+
+    private final LongAdder admittedCalls = new LongAdder();
+    private final LongAdder rejectedCalls = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    public GeminiBulkhead(
+            @Value("${gemini.bulkhead.maxConcurrentCalls}") int maxConcurrentCalls,
+            @Value("${gemini.bulkhead.maxWaitMillis}") long maxWaitMillis,
+            @Value("${gemini.bulkhead.maxQueuedCalls}") int maxQueuedCalls
+    ) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitMillis = maxWaitMillis;
+        this.maxQueuedCalls = maxQueuedCalls;
+        this.available = maxConcurrentCalls;
+    }
+
+    // call 이 돌려준 future 가 끝날 때 자리를 돌려준다. 응답 바디까지 다 읽은 뒤에 완료되는 future 를 넘겨야 한다.
+    // 대기했던 호출은 자리를 돌려준 스레드에서 시작되므로 call 은 막히지 않고 바로 future 를 돌려줘야 한다.
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        Waiter waiter = null;
+        boolean admitted = false;
+        synchronized (waiters) {
+            if (available > 0) {
+                available--;
+                admitted = true;
+            } else if (maxWaitMillis > 0 && waiters.size() < maxQueuedCalls) {
+                waiter = new Waiter();
+                waiters.addLast(waiter);
+            }
+        }
+        if (admitted) {
+            return run(call);
+        }
+        if (waiter == null) {
+            return reject();
+        }
+        return await(waiter, call);
+    }
+
+    private <T> CompletableFuture<T> await(Waiter waiter, Supplier<CompletableFuture<T>> call) {
+        // 시간이 지나면 orTimeout 이 waiter 를 먼저 완료시키므로 release 가 이 waiter 에게 자리를 넘기지 못한다.
+        waiter.orTimeout(maxWaitMillis, TimeUnit.MILLISECONDS);
+        return waiter.handle((ignored, throwable) -> throwable == null)
+                .thenCompose(handedOver -> {
+                    waitNanos.add(System.nanoTime() - waiter.enqueuedNanos);
+                    if (!handedOver) {
+                        synchronized (waiters) {
+                            waiters.remove(waiter);
+                        }
+                        return reject();
+                    }
+                    return run(call);
+                });
+    }
+
+    private <T> CompletableFuture<T> run(Supplier<CompletableFuture<T>> call) {
+        admittedCalls.increment();
+        try {
+            return call.get().whenComplete((result, throwable) -> release());
+        } catch (RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    // 가장 오래 기다린 대기자에게 자리를 넘긴다. 이미 시간 초과로 끝난 대기자는 건너뛴다.
+    private void release() {
+        while (true) {
+            Waiter next;
+            synchronized (waiters) {
+                next = waiters.pollFirst();
+                if (next == null) {
+                    available++;
+                    return;
+                }
+            }
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> reject() {
+        rejectedCalls.increment();
+        log.warn("Gemini bulkhead full: inFlight={}, queued={}", getInFlightCalls(), getQueuedCalls());
+        return CompletableFuture.failedFuture(new GeminiBulkheadFullException());
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int getInFlightCalls() {
+        synchronized (waiters) {
+            return maxConcurrentCalls - available;
+        }
+    }
+
+    public int getQueuedCalls() {
+        synchronized (waiters) {
+            return waiters.size();
+        }
+    }
+
+    public long getAdmittedCalls() {
+        return admittedCalls.sum();
+    }
+
+    public long getRejectedCalls() {
+        return rejectedCalls.sum();
+    }
+
+    public long getWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    private static final class Waiter extends CompletableFuture<Void> {
+        private final long enqueuedNanos = System.nanoTime();
+    }
+}
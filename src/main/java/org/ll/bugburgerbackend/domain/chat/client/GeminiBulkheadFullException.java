@@ -0,0 +1,8 @@
+package org.ll.bugburgerbackend.domain.chat.client;
+
+// 동시에 진행 중인 Gemini 호출 수가 한도에 도달해 대기 시간 안에 자리를 얻지 못한 경우
+public class GeminiBulkheadFullException extends RuntimeException {
+    public GeminiBulkheadFullException() {
+        super("Too many concurrent Gemini calls");
+    }
+}
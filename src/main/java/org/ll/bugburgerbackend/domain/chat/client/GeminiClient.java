@@ -0,0 +1,229 @@
+package org.ll.bugburgerbackend.domain.chat.client;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.ll.bugburgerbackend.global.timing.Stage;
+import org.ll.bugburgerbackend.global.timing.StageTimer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Gemini generateContent 호출 전용 클라이언트
+// 하나의 HttpClient 를 공유해 HTTP/2 커넥션을 재사용하고, 호출은 비동기로 처리한다.
+@Slf4j
+@Component
+public class GeminiClient {
+    private final HttpClient httpClient;
+    private final GeminiCodec geminiCodec;
+    private final GeminiBulkhead geminiBulkhead;
+    private final GeminiMetrics geminiMetrics;
+    private final ExecutorService httpExecutor;
+    private final ExecutorService bodyWriterExecutor;
+    private final String baseUrl;
+    private final String model;
+    private final String apiKey;
+    private final Duration readTimeout;
+    private final int bodyBufferBytes;
+
+    public GeminiClient(
+            GeminiCodec geminiCodec,
+            GeminiBulkhead geminiBulkhead,
+            GeminiMetrics geminiMetrics,
+            @Value("${gemini.api.key}") String apiKey,
+            @Value("${gemini.api.baseUrl}") String baseUrl,
+            @Value("${gemini.api.model}") String model,
+            @Value("${gemini.client.connectTimeoutMillis}") long connectTimeoutMillis,
+            @Value("${gemini.client.readTimeoutMillis}") long readTimeoutMillis,
+            @Value("${gemini.client.bodyBufferBytes}") int bodyBufferBytes,
+            @Value("${spring.threads.virtual.enabled}") boolean virtualThreads
+    ) {
+        this.geminiCodec = geminiCodec;
+        this.geminiBulkhead = geminiBulkhead;
+        this.geminiMetrics = geminiMetrics;
+        this.apiKey = apiKey;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.model = model;
+        this.readTimeout = Duration.ofMillis(readTimeoutMillis);
+        this.bodyBufferBytes = bodyBufferBytes;
+        // 가상 스레드 모드에서는 응답 대기와 바디 쓰기 모두 가상 스레드에서 처리한다.
+        this.bodyWriterExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("gemini-body-", 0).factory())
+                : Executors.newCachedThreadPool(namedDaemonThreads("gemini-body-"));
+        this.httpExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("gemini-http-", 0).factory())
+                : Executors.newCachedThreadPool(namedDaemonThreads("gemini-http-"));
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .executor(httpExecutor)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+    }
+
+    // 요청 바디는 body 가 OutputStream 에 직접 쓰고, 응답은 스트리밍 파싱해 transcript 만 돌려준다.
+    // 응답 읽기와 파싱 시간은 timer 의 parse 단계로 남긴다.
+    // sendAsync 는 헤더가 오면 완료되므로, 바디를 다 읽을 때까지 벌크헤드 자리를 잡고 있도록 읽기까지 execute 안에서 한다.
+    // 바디 읽기에는 HttpRequest.timeout 이 걸리지 않으므로 withReadTimeout 으로 교환 전체를 readTimeout 안에 끝낸다.
+    public CompletableFuture<String> generateContent(BodyWriter body, StageTimer timer) {
+        HttpRequest request = HttpRequest.newBuilder(endpoint("generateContent"))
+                .timeout(readTimeout)
+                .header("Content-Type", "application/json; charset=UTF-8")
+                .POST(streamingBody(body))
+                .build();
+
+        long start = System.nanoTime();
+        return geminiBulkhead.execute(() -> {
+                    CompletableFuture<HttpResponse<InputStream>> sent =
+                            httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+                    return withReadTimeout(sent, sent.thenApply(response -> readTranscript(response, timer)));
+                })
+                .whenComplete((transcript, throwable) -> geminiMetrics.record(GeminiMetrics.GENERATE, start, throwable));
+    }
+
+    private String readTranscript(HttpResponse<InputStream> response, StageTimer timer) {
+        log.info("Gemini API response code: {}", response.statusCode());
+        try (InputStream in = response.body()) {
+            if (response.statusCode() != 200) {
+                String errorMsg = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                log.error("Gemini API error: {}", errorMsg);
+                throw new GeminiApiException(response.statusCode(), errorMsg);
+            }
+
+            long parseStart = System.nanoTime();
+            String transcript = geminiCodec.readTranscript(in);
+            // 남은 바이트를 비워야 커넥션이 풀로 돌아간다.
+            in.transferTo(OutputStream.nullOutputStream());
+            timer.stop(Stage.PARSE, parseStart);
+            return transcript;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // streamGenerateContent 를 SSE 로 호출해 텍스트 조각이 도착할 때마다 onText 로 넘긴다.
+    // 반환되는 future 는 스트림이 끝나면 전체 transcript 로 완료된다. 줄 단위 구독자라 sendAsync 도 그때 완료되고, 벌크헤드 자리도 그때 돌려준다.
+    public CompletableFuture<String> streamGenerateContent(BodyWriter body, Consumer<String> onText) {
+        HttpRequest request = HttpRequest.newBuilder(endpoint("streamGenerateContent", "alt=sse"))
+                .timeout(readTimeout)
+                .header("Content-Type", "application/json; charset=UTF-8")
+                .header("Accept", "text/event-stream")
+                .POST(streamingBody(body))
+                .build();
+
+        HttpResponse.BodyHandler<String> handler = responseInfo -> {
+            log.info("Gemini API stream response code: {}", responseInfo.statusCode());
+            if (responseInfo.statusCode() != 200) {
+                return HttpResponse.BodySubscribers.mapping(
+                        HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8),
+                        errorMsg -> {
+                            log.error("Gemini API error: {}", errorMsg);
+                            throw new GeminiApiException(responseInfo.statusCode(), errorMsg);
+                        });
+            }
+            return HttpResponse.BodySubscribers.fromLineSubscriber(
+                    new GeminiStreamSubscriber(geminiCodec, onText),
+                    GeminiStreamSubscriber::transcript,
+                    StandardCharsets.UTF_8,
+                    null);
+        };
+
+        long start = System.nanoTime();
+        return geminiBulkhead.execute(() -> {
+                    CompletableFuture<HttpResponse<String>> sent = httpClient.sendAsync(request, handler);
+                    return withReadTimeout(sent, sent.thenApply(HttpResponse::body));
+                })
+                .whenComplete((transcript, throwable) -> geminiMetrics.record(GeminiMetrics.STREAM, start, throwable));
+    }
+
+    // result 가 readTimeout 안에 끝나지 않으면 HttpTimeoutException 으로 끝내고 교환을 중단한다.
+    // 헤더를 기다리는 중이면 요청을 취소하고, 바디를 읽는 중이면 스트림을 닫아 읽던 스레드를 깨운다.
+    private <T> CompletableFuture<T> withReadTimeout(CompletableFuture<? extends HttpResponse<?>> sent, CompletableFuture<T> result) {
+        return result.orTimeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(throwable -> {
+                    if (!(throwable instanceof TimeoutException)) {
+                        return CompletableFuture.failedFuture(throwable);
+                    }
+                    abort(sent);
+                    return CompletableFuture.failedFuture(
+                            new HttpTimeoutException("Gemini response not completed within " + readTimeout.toMillis() + "ms"));
+                });
+    }
+
+    private static void abort(CompletableFuture<? extends HttpResponse<?>> sent) {
+        if (sent.cancel(true) || sent.isCompletedExceptionally()) {
+            return;
+        }
+        if (sent.getNow(null).body() instanceof InputStream in) {
+            try {
+                in.close();
+            } catch (IOException e) {
+                log.debug("Failed to close timed out Gemini response body", e);
+            }
+        }
+    }
+
+    // 별도 스레드가 파이프에 쓰고 HttpClient 는 반대편을 읽는다. 메모리 사용량은 파이프 버퍼 크기로 제한된다.
+    // 쓰다가 실패하면 HttpClient 의 읽기가 그 예외로 실패해 요청이 중단된다. 잘린 바디가 전송되지 않는다.
+    private HttpRequest.BodyPublisher streamingBody(BodyWriter body) {
+        return HttpRequest.BodyPublishers.ofInputStream(() -> {
+            BodyPipe pipe = new BodyPipe(bodyBufferBytes);
+            bodyWriterExecutor.execute(() -> {
+                try {
+                    body.writeTo(pipe.outputStream());
+                    pipe.finish();
+                } catch (IOException | RuntimeException e) {
+                    log.error("Failed to write Gemini request body", e);
+                    pipe.fail(e);
+                }
+            });
+            return pipe.inputStream();
+        });
+    }
+
+    private URI endpoint(String method) {
+        return endpoint(method, null);
+    }
+
+    private URI endpoint(String method, String query) {
+        String url = baseUrl + "/v1beta/models/" + model + ":" + method + "?key=" + apiKey;
+        return URI.create(query == null ? url : url + "&" + query);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        bodyWriterExecutor.shutdown();
+        httpExecutor.shutdown();
+    }
+
+    private static ThreadFactory namedDaemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @FunctionalInterface
+    public interface BodyWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,136 @@
+package org.ll.bugburgerbackend.domain.chat.client;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.ll.bugburgerbackend.domain.chat.context.ConversationTurn;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+// Gemini 요청/응답 JSON 을 스트리밍으로 읽고 쓴다.
+// 오디오는 base64 로 인코딩하면서 바로 요청 바디에 기록하므로 업로드 크기만큼의 복사본을 만들지 않는다.
+@Slf4j
+@Component
+public class GeminiCodec {
+    private final JsonFactory jsonFactory;
+
+    public GeminiCodec(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    // history 는 오래된 것부터 contents 앞쪽에 넣고, 마지막에 이번 음성과 프롬프트를 user turn 으로 붙인다.
+    public void writeGenerateContentRequest(OutputStream out, List<ConversationTurn> history, String prompt,
+                                            String mimeType, InputStreamSource audio) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+             InputStream audioStream = audio.getInputStream()) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("contents");
+
+            for (ConversationTurn turn : history) {
+                generator.writeStartObject();
+                generator.writeStringField("role", turn.geminiRole());
+                generator.writeArrayFieldStart("parts");
+                generator.writeStartObject();
+                if (turn.hasAudio()) {
+                    generator.writeObjectFieldStart("inline_data");
+                    generator.writeStringField("mime_type", turn.audioMimeType());
+                    generator.writeFieldName("data");
+                    generator.writeBinary(turn.audio());
+                    generator.writeEndObject();
+                } else {
+                    generator.writeStringField("text", turn.message());
+                }
+                generator.writeEndObject();
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+
+            generator.writeStartObject();
+            generator.writeStringField("role", "user");
+            generator.writeArrayFieldStart("parts");
+
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("inline_data");
+            generator.writeStringField("mime_type", mimeType);
+            generator.writeFieldName("data");
+            generator.writeBinary(audioStream, -1);
+            generator.writeEndObject();
+            generator.writeEndObject();
+
+            generator.writeStartObject();
+            generator.writeStringField("text", prompt);
+            generator.writeEndObject();
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    // candidates[0].content.parts[0].text 까지만 읽고 나머지는 파싱하지 않는다.
+    // in 은 닫지 않는다. 남은 바이트를 비워 커넥션을 돌려주는 것은 호출한 쪽이 한다.
+    public String readTranscript(InputStream in) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in).disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)) {
+            String text = findText(parser);
+            if (text == null) {
+                log.warn("No transcript found in Gemini response (JSON parsed)");
+                return "";
+            }
+            return text;
+        }
+    }
+
+    // streamGenerateContent 의 SSE 청크 하나에서 텍스트 조각을 꺼낸다. 텍스트가 없는 청크(종료 사유 등)는 null
+    public String readChunkText(String json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return findText(parser);
+        }
+    }
+
+    private String findText(JsonParser parser) throws IOException {
+        if (parser.nextToken() == JsonToken.START_OBJECT
+                && moveToField(parser, "candidates")
+                && moveToFirstElement(parser)
+                && moveToField(parser, "content")
+                && moveToField(parser, "parts")
+                && moveToFirstElement(parser)
+                && moveToField(parser, "text")
+                && parser.currentToken() == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        return null;
+    }
+
+    // 현재 객체 안에서 field 값 위치로 이동한다. 다른 필드의 값은 건너뛴다.
+    private boolean moveToField(JsonParser parser, String field) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if (field.equals(name)) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private boolean moveToFirstElement(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.START_ARRAY
+                && parser.nextToken() == JsonToken.START_OBJECT;
+    }
+}
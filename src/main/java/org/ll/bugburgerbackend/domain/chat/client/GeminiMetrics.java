@@ -0,0 +1,101 @@
+package org.ll.bugburgerbackend.domain.chat.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Gemini 호출 지연 히스토그램과 상태 코드별 오류 수
+// 미터는 미리 만들어 두고 호출이 끝날 때 배열에서 꺼내 기록만 한다. 상태 코드 카운터는 처음 본 코드일 때 한 번 등록한다.
+@Component
+public class GeminiMetrics {
+    static final int GENERATE = 0;
+    static final int STREAM = 1;
+
+    private static final String ERRORS = "gemini.client.errors";
+    private static final int MAX_STATUS = 600;
+
+    private final MeterRegistry registry;
+    private final Timer[] timers = new Timer[2];
+    private final AtomicReferenceArray<Counter> statusErrors = new AtomicReferenceArray<>(MAX_STATUS);
+    private final Counter timeouts;
+    private final Counter transportErrors;
+    private final Counter rejected;
+
+    @Autowired
+    public GeminiMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        this(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    GeminiMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        timers[GENERATE] = timer("generateContent");
+        timers[STREAM] = timer("streamGenerateContent");
+        this.timeouts = errorCounter("timeout");
+        this.transportErrors = errorCounter("io");
+        this.rejected = errorCounter("bulkhead");
+    }
+
+    // 벌크헤드 대기부터 응답을 끝까지 읽고 파싱할 때까지의 시간. 벌크헤드에서 거절된 호출은 시간을 남기지 않는다.
+    void record(int call, long startNanos, Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+
+        if (cause instanceof GeminiBulkheadFullException) {
+            rejected.increment();
+            return;
+        }
+        timers[call].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+
+        if (cause == null) {
+            return;
+        }
+        if (cause instanceof GeminiApiException e) {
+            statusCounter(e.getStatusCode()).increment();
+        } else if (cause instanceof HttpTimeoutException) {
+            timeouts.increment();
+        } else {
+            transportErrors.increment();
+        }
+    }
+
+    private Counter statusCounter(int status) {
+        if (status < 0 || status >= MAX_STATUS) {
+            return transportErrors;
+        }
+        Counter counter = statusErrors.get(status);
+        if (counter == null) {
+            // 같은 이름과 태그면 레지스트리가 같은 카운터를 돌려주므로 경쟁해도 괜찮다.
+            counter = errorCounter(String.valueOf(status));
+            statusErrors.set(status, counter);
+        }
+        return counter;
+    }
+
+    private Timer timer(String method) {
+        return Timer.builder("gemini.client.requests")
+                .description("Gemini API call latency")
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(10))
+                .maximumExpectedValue(Duration.ofSeconds(60))
+                .register(registry);
+    }
+
+    private Counter errorCounter(String status) {
+        return Counter.builder(ERRORS)
+                .description("Failed Gemini API calls by status code or failure kind")
+                .tag("status", status)
+                .register(registry);
+    }
+}
@@ -0,0 +1,57 @@
+package org.ll.bugburgerbackend.domain.chat.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+// streamGenerateContent(alt=sse) 응답을 줄 단위로 받아 텍스트 조각을 즉시 넘기고, 전체 transcript 를 모은다.
+@Slf4j
+class GeminiStreamSubscriber implements Flow.Subscriber<String> {
+    private static final String DATA_PREFIX = "data:";
+
+    private final GeminiCodec geminiCodec;
+    private final Consumer<String> onText;
+    private final StringBuilder transcript = new StringBuilder();
+
+    GeminiStreamSubscriber(GeminiCodec geminiCodec, Consumer<String> onText) {
+        this.geminiCodec = geminiCodec;
+        this.onText = onText;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(String line) {
+        if (!line.startsWith(DATA_PREFIX)) {
+            return;
+        }
+
+        try {
+            String text = geminiCodec.readChunkText(line.substring(DATA_PREFIX.length()).trim());
+            if (text != null && !text.isEmpty()) {
+                transcript.append(text);
+                onText.accept(text);
+            }
+        } catch (IOException e) {
+            log.warn("Skipping malformed Gemini stream chunk", e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        log.error("Gemini stream failed", throwable);
+    }
+
+    @Override
+    public void onComplete() {
+    }
+
+    String transcript() {
+        return transcript.toString();
+    }
+}
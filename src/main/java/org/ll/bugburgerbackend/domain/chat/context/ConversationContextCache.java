@@ -0,0 +1,153 @@
+package org.ll.bugburgerbackend.domain.chat.context;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.ll.bugburgerbackend.domain.chat.dto.ChatHistoryItem;
+import org.ll.bugburgerbackend.domain.chat.repository.ChatRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+// 회원별 최근 대화 turn 을 메모리에 보관해 Gemini 호출에 이전 대화를 붙인다.
+// 처음 조회할 때만 DB 에서 채우고, 이후에는 ChatService.saveChat 과 회원 음성이 넣어 주는 값만 사용한다.
+//
+// append 는 회원이 아직 메모리에 없어도 버리지 않고 "채우기 전" 상태로 남긴다. write-behind 로 아직 DB 에 없는 행이나
+// DB 를 읽는 동안 들어온 행도 이렇게 남아 있다가, 채울 때 DB 에서 읽은 그보다 오래된 행 뒤에 이어 붙는다.
+// 남은 turn 이 많지 않으므로 목록은 바꿀 때마다 새로 만들고, 갱신은 Caffeine 의 회원별 compute 안에서만 한다.
+//
+// 전체 크기(maxBytes, 텍스트는 글자 수, 음성은 바이트 수)를 넘으면 덜 쓰인 회원부터 비운다. Caffeine 은 한도를 하나만 받으므로
+// 회원마다 최소 maxBytes / maxMembers 의 무게를 매겨 회원 수도 maxMembers 를 넘지 않게 한다.
+@Slf4j
+@Component
+public class ConversationContextCache {
+    private final ChatRepository chatRepository;
+    private final int turnsPerMember;
+    private final Supplier<LocalDateTime> clock;
+    private final Cache<Long, Conversation> conversations;
+
+    @Autowired
+    public ConversationContextCache(
+            ChatRepository chatRepository,
+            @Value("${gemini.context.turns}") int turnsPerMember,
+            @Value("${gemini.context.maxMembers}") int maxMembers,
+            @Value("${gemini.context.maxBytes}") long maxBytes
+    ) {
+        this(chatRepository, turnsPerMember, maxMembers, maxBytes, LocalDateTime::now);
+    }
+
+    ConversationContextCache(ChatRepository chatRepository, int turnsPerMember, int maxMembers, long maxBytes,
+                             Supplier<LocalDateTime> clock) {
+        this.chatRepository = chatRepository;
+        this.turnsPerMember = turnsPerMember;
+        this.clock = clock;
+
+        long minWeight = Math.max(1, maxBytes / Math.max(1, maxMembers));
+        this.conversations = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long memberId, Conversation conversation) ->
+                        (int) Math.min(Integer.MAX_VALUE, Math.max(minWeight, conversation.weight())))
+                .build();
+    }
+
+    // 오래된 turn 부터 순서대로 돌려준다.
+    public List<ConversationTurn> recentTurns(Long memberId) {
+        if (turnsPerMember <= 0) {
+            return List.of();
+        }
+
+        Conversation cached = conversations.getIfPresent(memberId);
+        if (cached != null && cached.loaded()) {
+            return cached.turns();
+        }
+
+        // DB 조회는 compute 밖에서 한다. 그동안 들어온 append 는 채우기 전 상태로 쌓여 있다가 아래에서 합쳐진다.
+        List<ChatHistoryItem> latest = chatRepository.findLatest(memberId, Limit.of(turnsPerMember));
+        Conversation warmed = conversations.asMap().compute(memberId, (id, current) -> {
+            if (current != null && current.loaded()) {
+                return current;
+            }
+            return warm(latest, current);
+        });
+        log.debug("Warmed {} conversation turns for member {}", warmed.turns().size(), memberId);
+        return warmed.turns();
+    }
+
+    public void append(Long memberId, ConversationTurn turn) {
+        if (turnsPerMember <= 0 || (!turn.hasAudio() && turn.message() == null)) {
+            return;
+        }
+
+        conversations.asMap().compute(memberId, (id, current) -> {
+            if (current == null) {
+                // 저장할 행보다 먼저 시각을 잡으므로 이 turn 의 DB 행은 since 보다 늦다.
+                return new Conversation(List.of(turn), clock.get(), false);
+            }
+            return current.append(turn, turnsPerMember);
+        });
+    }
+
+    public void evict(Long memberId) {
+        conversations.invalidate(memberId);
+    }
+
+    // since 이전의 DB 행은 메모리에 없고, 이후의 행은 모두 append 로 들어와 있다.
+    private Conversation warm(List<ChatHistoryItem> latest, Conversation pending) {
+        List<ConversationTurn> turns = new ArrayList<>(turnsPerMember);
+        // 최신순으로 읽었으므로 뒤에서부터 넣는다.
+        for (int i = latest.size() - 1; i >= 0; i--) {
+            ChatHistoryItem item = latest.get(i);
+            if (item.message() != null && (pending == null || item.createdAt().isBefore(pending.since()))) {
+                turns.add(ConversationTurn.text(item.chatType(), item.message()));
+            }
+        }
+        if (pending != null) {
+            turns.addAll(pending.turns());
+        }
+        return new Conversation(List.copyOf(lastTurns(turns, turnsPerMember)), null, true);
+    }
+
+    private static List<ConversationTurn> lastTurns(List<ConversationTurn> turns, int limit) {
+        return turns.size() <= limit ? turns : turns.subList(turns.size() - limit, turns.size());
+    }
+
+    public long getMemberCount() {
+        return conversations.estimatedSize();
+    }
+
+    public long getTotalBytes() {
+        long sum = 0;
+        for (Conversation conversation : conversations.asMap().values()) {
+            sum += conversation.weight();
+        }
+        return sum;
+    }
+
+    // loaded 가 false 면 since 이후에 append 된 turn 만 들고 있다.
+    private record Conversation(
+            List<ConversationTurn> turns,
+            LocalDateTime since,
+            boolean loaded
+    ) {
+        Conversation append(ConversationTurn turn, int limit) {
+            List<ConversationTurn> appended = new ArrayList<>(turns.size() + 1);
+            appended.addAll(turns);
+            appended.add(turn);
+            return new Conversation(List.copyOf(lastTurns(appended, limit)), since, loaded);
+        }
+
+        long weight() {
+            long sum = 0;
+            for (ConversationTurn turn : turns) {
+                sum += turn.weight();
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.ll.bugburgerbackend.domain.chat.context;
+
+import org.ll.bugburgerbackend.global.type.ChatType;
+
+// 회원 발화는 텍스트가 없으므로 음성을 그대로 담는다. AI 응답은 text 만 있다.
+public record ConversationTurn(
+        ChatType chatType,
+        String message,
+        String audioMimeType,
+        byte[] audio
+) {
+    public static ConversationTurn text(ChatType chatType, String message) {
+        return new ConversationTurn(chatType, message, null, null);
+    }
+
+    public static ConversationTurn patientAudio(String mimeType, byte[] audio) {
+        return new ConversationTurn(ChatType.PATIENT, null, mimeType, audio);
+    }
+
+    public boolean hasAudio() {
+        return audio != null;
+    }
+
+    // 캐시 한도에 쓰는 대략의 크기
+    public long weight() {
+        return hasAudio() ? audio.length : message.length();
+    }
+
+    // Gemini contents 의 role 값
+    public String geminiRole() {
+        return chatType == ChatType.AI ? "model" : "user";
+    }
+}
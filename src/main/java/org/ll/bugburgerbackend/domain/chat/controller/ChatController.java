@@ -1,26 +1,42 @@
 package org.ll.bugburgerbackend.domain.chat.controller;
 
-import org.ll.bugburgerbackend.domain.member.entity.Member;
+import org.ll.bugburgerbackend.domain.chat.client.GeminiApiException;
+import org.ll.bugburgerbackend.domain.chat.client.GeminiBulkheadFullException;
+import org.ll.bugburgerbackend.domain.chat.client.GeminiClient;
+import org.ll.bugburgerbackend.domain.chat.client.GeminiCodec;
+import org.ll.bugburgerbackend.domain.chat.context.ConversationContextCache;
+import org.ll.bugburgerbackend.domain.chat.context.ConversationTurn;
+import org.ll.bugburgerbackend.domain.chat.dto.ChatHistoryCursor;
+import org.ll.bugburgerbackend.domain.chat.idempotency.IdempotencyKeyMismatchException;
+import org.ll.bugburgerbackend.domain.chat.idempotency.SpeechIdempotencyCache;
+import org.ll.bugburgerbackend.domain.chat.idempotency.SpeechIdempotencyKey;
+import org.ll.bugburgerbackend.domain.chat.prompt.PromptService;
+import org.ll.bugburgerbackend.domain.member.dto.MemberSnapshot;
+import org.ll.bugburgerbackend.global.error.ErrorCode;
+import org.ll.bugburgerbackend.global.error.ErrorResponse;
+import org.ll.bugburgerbackend.global.timing.Stage;
+import org.ll.bugburgerbackend.global.timing.StageTimer;
 import org.ll.bugburgerbackend.global.webMvc.LoginUser;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.http.MediaType;
 import lombok.extern.slf4j.Slf4j;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.ll.bugburgerbackend.domain.chat.service.ChatService;
 import org.ll.bugburgerbackend.global.type.ChatType;
 import lombok.RequiredArgsConstructor;
 
-import java.util.Base64;
 import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.io.OutputStream;
+import java.net.http.HttpTimeoutException;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 // TODO: Service로 서비스 로직 분리할 것
 @Slf4j
@@ -28,117 +44,162 @@ import java.util.Map;
 @RequestMapping("/api/v1/chats")
 @RequiredArgsConstructor
 public class ChatController {
-
-    @Value("${gemini.api.key}")
-    private String geminiApiKey;
-
-    @Value("${gemini.api.prompt}")
-    private String geminiPrompt;
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
 
     private final ChatService chatService;
+    private final GeminiClient geminiClient;
+    private final GeminiCodec geminiCodec;
+    private final PromptService promptService;
+    private final SpeechIdempotencyCache idempotencyCache;
+    private final ConversationContextCache conversationContextCache;
 
     @GetMapping("/")
     public String chat() {
         return "chat";
     }
 
-    @PostMapping(value = "/speech-to-text", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<?> speechToText(@RequestParam("audio") MultipartFile audioFile, @LoginUser Member loginMember) throws IOException {
-        if(loginMember == null) {
-            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
+    @GetMapping("/history")
+    public ResponseEntity<?> history(@RequestParam(required = false) String cursor,
+                                     @RequestParam(defaultValue = "20") int size,
+                                     @LoginUser MemberSnapshot loginMember) {
+        if (loginMember == null) {
+            return ResponseEntity.status(401).build();
         }
 
-        geminiPrompt = String.format(
-                loginMember.getUsername(),
-                loginMember.getBirth(),
-                loginMember.getGender(),
-                loginMember.getDementiaStage(),
-                loginMember.getInterests(),
-                loginMember.getBackground(),
-                loginMember.getFamily(),
-                loginMember.getRecentAnalysis()
-        );
-
-        log.info("Received audio file for speech-to-text: size={} bytes", audioFile.getSize());
-        byte[] audioBytes = audioFile.getBytes();
-        String audioBase64 = Base64.getEncoder().encodeToString(audioBytes);
-
-        // 2. Gemini 프롬프트 준비
-        ObjectMapper mapper = new ObjectMapper();
-        String escapedPrompt = mapper.writeValueAsString(geminiPrompt);
-
-        String jsonPayload = """
-        {
-          "contents": [
-            {
-              "role": "user",
-              "parts": [
-                {
-                  "inline_data": {
-                    "mime_type": "audio/webm",
-                    "data": "%s"
-                  }
-                },
-                {
-                  "text": %s
-                }
-              ]
-            }
-          ]
+        ChatHistoryCursor position;
+        try {
+            position = cursor == null ? null : ChatHistoryCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ErrorResponse.toResponseEntity(ErrorCode.INVALID_INPUT_VALUE);
         }
-        """.formatted(audioBase64, escapedPrompt);
-
-        URL url = new URL("https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:generateContent?key=" + geminiApiKey);
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        conn.setRequestMethod("POST");
-        conn.setRequestProperty("Content-Type", "application/json; charset=UTF-8");
-        conn.setDoOutput(true);
+        return ResponseEntity.ok(chatService.getHistory(loginMember.id(), position, size));
+    }
 
-        try (OutputStream os = conn.getOutputStream()) {
-            os.write(jsonPayload.getBytes());
+    @PostMapping(value = "/speech-to-text", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public CompletableFuture<ResponseEntity<?>> speechToText(@RequestParam("audio") MultipartFile audioFile,
+                                                             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                             @LoginUser MemberSnapshot loginMember) throws IOException {
+        if(loginMember == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(401).body(Map.of("error", "Unauthorized")));
         }
 
-        int responseCode = conn.getResponseCode();
-        log.info("Gemini API response code: {}", responseCode);
-        if (responseCode != 200) {
-            String errorMsg = new String(conn.getErrorStream().readAllBytes());
-            log.error("Gemini API error: {}", errorMsg);
-            return ResponseEntity.status(responseCode).body(Map.of("error", errorMsg));
+        log.debug("Received audio file for speech-to-text: size={} bytes", audioFile.getSize());
+        // 단계별 시간은 Server-Timing 헤더와 메트릭으로 남는다. 비동기 콜백에는 요청 스레드에서 얻은 타이머를 넘긴다.
+        StageTimer timer = StageTimer.current();
+
+        long start = System.nanoTime();
+        SpeechIdempotencyKey key = idempotencyCache.keyFor(loginMember.id(), idempotencyKey, audioFile);
+        timer.stop(Stage.UPLOAD, start);
+
+        start = System.nanoTime();
+        String prompt = promptService.render(loginMember);
+        List<ConversationTurn> history = conversationContextCache.recentTurns(loginMember.id());
+        timer.stop(Stage.PROMPT, start);
+
+        // 재시도된 요청은 Gemini 호출과 저장 없이 이전 결과를 돌려받는다.
+        return idempotencyCache.execute(key, () -> {
+                    long geminiStart = System.nanoTime();
+                    return geminiClient
+                            .generateContent(out -> {
+                                long encodeStart = System.nanoTime();
+                                geminiCodec.writeGenerateContentRequest(out, history, prompt, "audio/webm", audioFile);
+                                timer.stop(Stage.ENCODE, encodeStart);
+                            }, timer)
+                            .thenApply(transcript -> {
+                                timer.stop(Stage.GEMINI, geminiStart);
+                                log.debug("Extracted transcript: {}", transcript);
+
+                                // 회원 음성과 AI의 응답 메시지 저장
+                                long persistStart = System.nanoTime();
+                                chatService.rememberPatientAudio(loginMember.id(), "audio/webm", audioFile);
+                                chatService.saveChat(loginMember.id(), transcript, ChatType.AI);
+                                timer.stop(Stage.PERSIST, persistStart);
+                                return transcript;
+                            });
+                })
+                .<ResponseEntity<?>>thenApply(transcript -> ResponseEntity.ok().body(Map.of("ai", transcript)))
+                .exceptionally(this::toErrorResponse);
+    }
+
+    // 응답 텍스트를 생성되는 대로 SSE 로 흘려보낸다. 스트림이 끝나면 전체 transcript 를 저장한다.
+    @PostMapping(value = "/speech-to-text/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> speechToTextStream(@RequestParam("audio") MultipartFile audioFile,
+                                                         @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                         @LoginUser MemberSnapshot loginMember) throws IOException {
+        if (loginMember == null) {
+            return ResponseEntity.status(401).build();
         }
 
-        String response = new String(conn.getInputStream().readAllBytes());
-        log.debug("Gemini API raw response: {}", response);
-        String transcript = extractGeminiTranscript(response);
-        log.info("Extracted transcript: {}", transcript);
+        log.debug("Received audio file for speech-to-text stream: size={} bytes", audioFile.getSize());
+        String prompt = promptService.render(loginMember);
+        List<ConversationTurn> history = conversationContextCache.recentTurns(loginMember.id());
+        SpeechIdempotencyKey key = idempotencyCache.keyFor(loginMember.id(), idempotencyKey, audioFile);
+        SseEmitter emitter = new SseEmitter();
+        AtomicBoolean clientGone = new AtomicBoolean(false);
+        emitter.onCompletion(() -> clientGone.set(true));
+        emitter.onTimeout(() -> clientGone.set(true));
+
+        // 중복 요청은 delta 없이 먼저 들어온 호출의 최종 결과만 done 으로 받는다.
+        idempotencyCache.execute(key, () -> geminiClient
+                        .streamGenerateContent(
+                                out -> geminiCodec.writeGenerateContentRequest(out, history, prompt, "audio/webm", audioFile),
+                                text -> sendEvent(emitter, clientGone, "delta", Map.of("text", text)))
+                        .thenApply(transcript -> {
+                            log.debug("Extracted transcript: {}", transcript);
+                            // 브라우저 연결이 끊겼더라도 완성된 응답은 저장한다.
+                            chatService.rememberPatientAudio(loginMember.id(), "audio/webm", audioFile);
+                            chatService.saveChat(loginMember.id(), transcript, ChatType.AI);
+                            return transcript;
+                        }))
+                .whenComplete((transcript, throwable) -> {
+                    if (throwable != null) {
+                        ResponseEntity<?> error = toErrorResponse(throwable);
+                        sendEvent(emitter, clientGone, "error", error.getBody());
+                        emitter.complete();
+                        return;
+                    }
 
-        // AI의 응답 메시지 저장
-        chatService.saveChat(loginMember, transcript, ChatType.AI);
+                    sendEvent(emitter, clientGone, "done", Map.of("ai", transcript));
+                    emitter.complete();
+                });
 
-        return ResponseEntity.ok().body(Map.of("ai", transcript));
+        return ResponseEntity.ok(emitter);
     }
 
-    // Gemini 응답에서 텍스트 추출 (JSON 파싱 사용)
-    private String extractGeminiTranscript(String json) {
+    private void sendEvent(SseEmitter emitter, AtomicBoolean clientGone, String name, Object data) {
+        if (clientGone.get()) {
+            return;
+        }
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(json);
-            // Gemini 응답 구조에 따라 경로를 조정해야 할 수 있음
-            JsonNode candidates = root.path("candidates");
-            if (candidates.isArray() && candidates.size() > 0) {
-                JsonNode content = candidates.get(0).path("content");
-                JsonNode parts = content.path("parts");
-                if (parts.isArray() && parts.size() > 0) {
-                    JsonNode textNode = parts.get(0).path("text");
-                    if (!textNode.isMissingNode()) {
-                        return textNode.asText();
-                    }
-                }
-            }
-            log.warn("No transcript found in Gemini response (JSON parsed)");
-            return "";
-        } catch (Exception e) {
-            log.error("Failed to parse Gemini response JSON", e);
-            return "";
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE client disconnected: {}", e.getMessage());
+            clientGone.set(true);
         }
     }
+
+    private ResponseEntity<?> toErrorResponse(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+
+        if (cause instanceof GeminiApiException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(Map.of("error", e.getMessage()));
+        }
+        if (cause instanceof IdempotencyKeyMismatchException) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(Map.of("error", cause.getMessage()));
+        }
+        if (cause instanceof GeminiBulkheadFullException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", cause.getMessage()));
+        }
+        if (cause instanceof HttpTimeoutException) {
+            log.error("Gemini API timed out", cause);
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(Map.of("error", "Gemini API timeout"));
+        }
+
+        log.error("Gemini API call failed", cause);
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(Map.of("error", "Gemini API call failed"));
+    }
 }
@@ -0,0 +1,41 @@
+package org.ll.bugburgerbackend.domain.chat.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// 히스토리 keyset 위치. pooled id 는 insert 순서와 다르므로 createdAt 으로 정렬하고 같은 시각은 id 로 가른다.
+// 클라이언트에는 "createdAt|id" 를 base64url 로 감싼 불투명한 문자열로 준다.
+public record ChatHistoryCursor(
+        LocalDateTime createdAt,
+        Long id
+) {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static ChatHistoryCursor of(ChatHistoryItem item) {
+        return new ChatHistoryCursor(item.createdAt(), item.id());
+    }
+
+    // 형식이 맞지 않으면 IllegalArgumentException
+    public static ChatHistoryCursor decode(String value) {
+        try {
+            String decoded = new String(DECODER.decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed history cursor: " + value);
+            }
+            return new ChatHistoryCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1))
+            );
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed history cursor: " + value, e);
+        }
+    }
+
+    public String encode() {
+        return ENCODER.encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
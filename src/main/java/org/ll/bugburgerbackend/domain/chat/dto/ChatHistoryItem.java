@@ -0,0 +1,13 @@
+package org.ll.bugburgerbackend.domain.chat.dto;
+
+import org.ll.bugburgerbackend.global.type.ChatType;
+
+import java.time.LocalDateTime;
+
+public record ChatHistoryItem(
+        Long id,
+        String message,
+        ChatType chatType,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,10 @@
+package org.ll.bugburgerbackend.domain.chat.dto;
+
+import java.util.List;
+
+// nextCursor 가 null 이면 마지막 페이지다. 다음 요청의 cursor 로 그대로 넘긴다.
+public record ChatHistoryResponse(
+        List<ChatHistoryItem> chats,
+        String nextCursor
+) {
+}
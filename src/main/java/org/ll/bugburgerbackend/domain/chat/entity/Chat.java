@@ -4,7 +4,10 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,6 +18,7 @@ import org.ll.bugburgerbackend.global.baseEntity.BaseEntity;
 import org.ll.bugburgerbackend.global.type.ChatType;
 
 @Entity
+@Table(indexes = @Index(name = "idx_chat_member_id_created_at_id", columnList = "member_id, created_at, id"))
 @Setter
 @Getter
 @AllArgsConstructor
@@ -29,6 +33,6 @@ public class Chat extends BaseEntity {
     @Column(nullable = false, length = 20)
     private ChatType chatType;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Member member;
 }
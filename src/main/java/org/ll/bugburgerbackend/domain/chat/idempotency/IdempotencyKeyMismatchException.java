@@ -0,0 +1,8 @@
+package org.ll.bugburgerbackend.domain.chat.idempotency;
+
+// 같은 Idempotency-Key 로 다른 음성을 보낸 경우. 앞선 요청의 결과를 돌려주지 않고 거절한다.
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException() {
+        super("Idempotency-Key was already used with a different audio file");
+    }
+}
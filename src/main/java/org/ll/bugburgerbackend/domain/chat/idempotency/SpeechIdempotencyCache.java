@@ -0,0 +1,176 @@
+package org.ll.bugburgerbackend.domain.chat.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// 같은 음성에 대한 재시도 요청이 Gemini 를 다시 호출하지 않도록 결과를 TTL 동안 보관한다.
+// 키는 Idempotency-Key 헤더가 있으면 회원 + 헤더, 없으면 회원 + 오디오 SHA-256 이다.
+// 헤더가 같아도 오디오 해시가 다르면 IdempotencyKeyMismatchException 으로 거절한다.
+// 동시에 들어온 중복 요청은 먼저 들어온 호출 하나의 결과를 함께 기다린다(single-flight).
+// TTL 은 결과가 나온 시점부터 센다. 진행 중인 호출은 만료되지 않는다.
+@Slf4j
+@Component
+public class SpeechIdempotencyCache {
+    private static final int HASH_BUFFER_BYTES = 8192;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    @Autowired
+    public SpeechIdempotencyCache(
+            @Value("${gemini.idempotency.ttlSeconds}") long ttlSeconds,
+            @Value("${gemini.idempotency.maxEntries}") int maxEntries
+    ) {
+        this(TimeUnit.SECONDS.toNanos(ttlSeconds), maxEntries, System::nanoTime);
+    }
+
+    SpeechIdempotencyCache(long ttlNanos, int maxEntries, LongSupplier nanoClock) {
+        this.ttlNanos = ttlNanos;
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+    }
+
+    public SpeechIdempotencyKey keyFor(Long memberId, String idempotencyKey, InputStreamSource audio) throws IOException {
+        String audioSha256 = sha256(audio);
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            return new SpeechIdempotencyKey(memberId + ":key:" + idempotencyKey, audioSha256);
+        }
+        return new SpeechIdempotencyKey(memberId + ":sha256:" + audioSha256, audioSha256);
+    }
+
+    public CompletableFuture<String> execute(SpeechIdempotencyKey idempotencyKey, Supplier<CompletableFuture<String>> call) {
+        String key = idempotencyKey.key();
+        long now = nanoClock.getAsLong();
+        Entry fresh = new Entry(new CompletableFuture<>(), idempotencyKey.audioSha256());
+        Entry current = entries.compute(key, (k, existing) ->
+                existing == null || existing.isExpired(now) ? fresh : existing);
+
+        if (current != fresh) {
+            if (!current.audioSha256().equals(idempotencyKey.audioSha256())) {
+                log.warn("Idempotency key reused with different audio: {}", key);
+                return CompletableFuture.failedFuture(new IdempotencyKeyMismatchException());
+            }
+            if (current.result().isDone()) {
+                hits.increment();
+            } else {
+                coalesced.increment();
+            }
+            log.debug("Reusing speech-to-text result for key {}", key);
+            // 호출자가 공유 future 를 완료시키지 못하도록 복사본을 돌려준다.
+            return current.result().copy();
+        }
+
+        misses.increment();
+        if (entries.size() > maxEntries) {
+            evictExpired(now);
+        }
+
+        try {
+            call.get().whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    // 실패한 결과는 캐시하지 않는다. 다음 재시도는 다시 호출한다.
+                    entries.remove(key, fresh);
+                    fresh.result().completeExceptionally(throwable);
+                } else {
+                    // 결과가 나온 시점부터 TTL 을 센다. isExpired 가 isDone 을 먼저 보므로 완료 전에 기록한다.
+                    fresh.expiresAtNanos = nanoClock.getAsLong() + ttlNanos;
+                    fresh.result().complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            entries.remove(key, fresh);
+            fresh.result().completeExceptionally(e);
+        }
+        return fresh.result().copy();
+    }
+
+    private void evictExpired(long now) {
+        entries.entrySet().removeIf(e -> e.getValue().isExpired(now));
+
+        // 만료된 항목을 지워도 넘치면 완료된 항목부터 임의로 덜어낸다.
+        var iterator = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            if (iterator.next().getValue().result().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static String sha256(InputStreamSource audio) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        byte[] buffer = new byte[HASH_BUFFER_BYTES];
+        try (InputStream in = audio.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<String> result;
+        private final String audioSha256;
+        private volatile long expiresAtNanos;
+
+        private Entry(CompletableFuture<String> result, String audioSha256) {
+            this.result = result;
+            this.audioSha256 = audioSha256;
+        }
+
+        CompletableFuture<String> result() {
+            return result;
+        }
+
+        String audioSha256() {
+            return audioSha256;
+        }
+
+        boolean isExpired(long now) {
+            return result.isDone() && now - expiresAtNanos > 0;
+        }
+    }
+}
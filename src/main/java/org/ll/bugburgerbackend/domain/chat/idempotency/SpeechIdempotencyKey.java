@@ -0,0 +1,9 @@
+package org.ll.bugburgerbackend.domain.chat.idempotency;
+
+// key: 캐시 키. Idempotency-Key 헤더가 있으면 회원 + 헤더, 없으면 회원 + 오디오 해시
+// audioSha256: 같은 키로 다른 음성이 들어왔는지 확인하는 데 쓴다.
+public record SpeechIdempotencyKey(
+        String key,
+        String audioSha256
+) {
+}
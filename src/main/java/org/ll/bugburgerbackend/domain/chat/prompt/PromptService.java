@@ -0,0 +1,67 @@
+package org.ll.bugburgerbackend.domain.chat.prompt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.ll.bugburgerbackend.domain.member.dto.MemberSnapshot;
+import org.ll.bugburgerbackend.domain.member.event.MemberUpdatedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// 회원별로 렌더링한 Gemini 프롬프트를 캐시한다.
+// 템플릿은 기동 시 한 번만 컴파일한다. 항목에는 렌더링에 쓴 스냅샷을 함께 두고, 요청의 스냅샷과 같을 때만 재사용한다.
+// 그래서 eviction 과 동시에 진행된 렌더링이 옛 프롬프트를 다시 넣어도 그 프롬프트가 바뀐 회원에게 쓰이지 않는다.
+// 회원 정보가 바뀌면 커밋 후 MemberUpdatedEvent 로 해당 항목을 비워 메모리를 돌려준다.
+@Slf4j
+@Service
+public class PromptService {
+    private final PromptTemplate template;
+    private final Cache<Long, RenderedPrompt> cache;
+
+    public PromptService(
+            @Value("${gemini.api.prompt}") String prompt,
+            @Value("${gemini.prompt.cacheSize}") int cacheSize
+    ) {
+        this.template = PromptTemplate.compile(prompt);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    public String render(MemberSnapshot member) {
+        RenderedPrompt cached = cache.getIfPresent(member.id());
+        if (cached != null && cached.member().equals(member)) {
+            return cached.prompt();
+        }
+
+        String prompt = template.render(
+                member.username(),
+                member.birth(),
+                member.gender(),
+                member.dementiaStage(),
+                member.interests(),
+                member.background(),
+                member.family(),
+                member.recentAnalysis()
+        );
+
+        cache.put(member.id(), new RenderedPrompt(member, prompt));
+        return prompt;
+    }
+
+    public void evict(Long memberId) {
+        cache.invalidate(memberId);
+    }
+
+    // 트랜잭션 안에서 발행돼도 커밋된 뒤에 비운다. 트랜잭션 밖에서 발행되면 바로 비운다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMemberUpdated(MemberUpdatedEvent event) {
+        log.debug("Evicting cached prompt for member {}", event.memberId());
+        evict(event.memberId());
+    }
+
+    private record RenderedPrompt(MemberSnapshot member, String prompt) {
+    }
+}
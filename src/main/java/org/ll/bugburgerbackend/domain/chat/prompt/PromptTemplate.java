@@ -0,0 +1,110 @@
+package org.ll.bugburgerbackend.domain.chat.prompt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.MissingFormatArgumentException;
+
+// gemini.api.prompt 형식 문자열을 한 번만 파싱해 두고, 렌더링 시에는 문자열 조각과 인자만 이어 붙인다.
+// %s, %n$s, %%, %n 만 지원하며, 그 밖의 형식 지정자가 있으면 String.format 으로 처리한다.
+public final class PromptTemplate {
+    private final String source;
+    private final String[] literals;
+    private final int[] argumentIndexes;
+    private final int literalLength;
+    private final boolean fallback;
+
+    private PromptTemplate(String source, String[] literals, int[] argumentIndexes, boolean fallback) {
+        this.source = source;
+        this.literals = literals;
+        this.argumentIndexes = argumentIndexes;
+        this.fallback = fallback;
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static PromptTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> argumentIndexes = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int nextSequentialIndex = 0;
+
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                i++;
+                continue;
+            }
+
+            int end = i + 1;
+            while (end < source.length() && Character.isDigit(source.charAt(end))) {
+                end++;
+            }
+            if (end >= source.length()) {
+                return fallback(source);
+            }
+
+            char conversion = source.charAt(end);
+            boolean positional = end > i + 1;
+            if (!positional && conversion == '%') {
+                literal.append('%');
+            } else if (!positional && conversion == 'n') {
+                literal.append(System.lineSeparator());
+            } else if (!positional && conversion == 's') {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                argumentIndexes.add(nextSequentialIndex++);
+            } else if (positional && conversion == '$' && end + 1 < source.length() && source.charAt(end + 1) == 's') {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                argumentIndexes.add(Integer.parseInt(source.substring(i + 1, end)) - 1);
+                end++;
+            } else {
+                return fallback(source);
+            }
+            i = end + 1;
+        }
+        literals.add(literal.toString());
+
+        return new PromptTemplate(
+                source,
+                literals.toArray(String[]::new),
+                argumentIndexes.stream().mapToInt(Integer::intValue).toArray(),
+                false
+        );
+    }
+
+    private static PromptTemplate fallback(String source) {
+        return new PromptTemplate(source, new String[0], new int[0], true);
+    }
+
+    public String render(Object... args) {
+        if (fallback) {
+            return String.format(source, args);
+        }
+
+        String[] values = new String[argumentIndexes.length];
+        int length = literalLength;
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            int index = argumentIndexes[i];
+            if (index < 0 || index >= args.length) {
+                // String.format 과 동일하게 인자가 모자라면 예외
+                throw new MissingFormatArgumentException("%" + (index + 1) + "$s");
+            }
+            values[i] = String.valueOf(args[index]);
+            length += values[i].length();
+        }
+
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < values.length; i++) {
+            sb.append(literals[i]).append(values[i]);
+        }
+        sb.append(literals[literals.length - 1]);
+        return sb.toString();
+    }
+}
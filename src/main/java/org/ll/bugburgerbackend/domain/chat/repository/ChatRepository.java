@@ -1,10 +1,39 @@
 package org.ll.bugburgerbackend.domain.chat.repository;
 
+import org.ll.bugburgerbackend.domain.chat.dto.ChatHistoryItem;
 import org.ll.bugburgerbackend.domain.chat.entity.Chat;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface ChatRepository extends JpaRepository<Chat, Long> {
 
+    // (member_id, created_at, id) 인덱스를 타는 keyset 조회. pooled id 는 인스턴스마다 다른 블록에서 나오므로
+    // id 만으로는 시간 순서가 아니다. createdAt 으로 정렬하고 같은 시각은 id 로 가른다.
+    @Query("""
+            select new org.ll.bugburgerbackend.domain.chat.dto.ChatHistoryItem(c.id, c.message, c.chatType, c.createdAt)
+            from Chat c
+            where c.member.id = :memberId
+            order by c.createdAt desc, c.id desc
+            """)
+    List<ChatHistoryItem> findLatest(@Param("memberId") Long memberId, Limit limit);
+
+    // (createdAt, id) 가 cursor 보다 앞선 메시지를 최신순으로 읽는다. offset 이 없으므로 페이지 깊이와 무관하게 비용이 같다.
+    @Query("""
+            select new org.ll.bugburgerbackend.domain.chat.dto.ChatHistoryItem(c.id, c.message, c.chatType, c.createdAt)
+            from Chat c
+            where c.member.id = :memberId
+              and (c.createdAt < :createdAt or (c.createdAt = :createdAt and c.id < :id))
+            order by c.createdAt desc, c.id desc
+            """)
+    List<ChatHistoryItem> findHistoryBefore(@Param("memberId") Long memberId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Limit limit);
 }
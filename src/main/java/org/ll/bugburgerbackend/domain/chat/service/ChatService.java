@@ -1,23 +1,88 @@
 package org.ll.bugburgerbackend.domain.chat.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ll.bugburgerbackend.domain.chat.context.ConversationContextCache;
+import org.ll.bugburgerbackend.domain.chat.context.ConversationTurn;
+import org.ll.bugburgerbackend.domain.chat.dto.ChatHistoryCursor;
+import org.ll.bugburgerbackend.domain.chat.dto.ChatHistoryItem;
+import org.ll.bugburgerbackend.domain.chat.dto.ChatHistoryResponse;
 import org.ll.bugburgerbackend.domain.chat.entity.Chat;
 import org.ll.bugburgerbackend.domain.chat.repository.ChatRepository;
-import org.ll.bugburgerbackend.domain.member.entity.Member;
+import org.ll.bugburgerbackend.domain.member.repository.MemberRepository;
 import org.ll.bugburgerbackend.global.type.ChatType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.util.List;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChatService {
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final ChatRepository chatRepository;
+    private final MemberRepository memberRepository;
+    private final ChatWriteBehindQueue chatWriteBehindQueue;
+    private final ConversationContextCache conversationContextCache;
+
+    @Value("${custom.chat.writeBehind.enabled}")
+    private boolean writeBehindEnabled;
+
+    @Value("${gemini.context.maxAudioBytes}")
+    private long maxAudioBytes;
+
+    // write-behind 가 켜져 있으면 큐에 넣고 바로 돌아온다. 실제 insert 는 배치로 나중에 일어난다.
+    public void saveChat(Long memberId, String message, ChatType chatType) {
+        conversationContextCache.append(memberId, ConversationTurn.text(chatType, message));
+
+        if (writeBehindEnabled) {
+            chatWriteBehindQueue.enqueue(memberId, message, chatType);
+            return;
+        }
 
-    public Chat saveChat(Member member, String message, ChatType chatType) {
         Chat chat = Chat.builder()
-                .member(member)
+                // FK 만 필요하므로 회원을 조회하지 않고 참조만 건다.
+                .member(memberRepository.getReferenceById(memberId))
                 .message(message)
                 .chatType(chatType)
                 .build();
-        return chatRepository.save(chat);
+        chatRepository.save(chat);
+    }
+
+    // 회원 발화는 텍스트가 없어 DB 에 남기지 않고 음성을 대화 맥락에만 남긴다.
+    // maxAudioBytes 보다 긴 음성은 이후 호출마다 요청을 키우므로 남기지 않는다.
+    public void rememberPatientAudio(Long memberId, String mimeType, MultipartFile audio) {
+        if (audio.getSize() > maxAudioBytes) {
+            return;
+        }
+        try {
+            conversationContextCache.append(memberId,
+                    ConversationTurn.patientAudio(mimeType, audio.getBytes()));
+        } catch (IOException e) {
+            log.warn("Failed to keep patient audio of member {} in conversation context", memberId, e);
+        }
+    }
+
+    // cursor 가 없으면 가장 최근 메시지부터, 있으면 cursor 보다 오래된 메시지를 size 개 돌려준다.
+    @Transactional(readOnly = true)
+    public ChatHistoryResponse getHistory(Long memberId, ChatHistoryCursor cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+        List<ChatHistoryItem> chats = cursor == null
+                ? chatRepository.findLatest(memberId, limit)
+                : chatRepository.findHistoryBefore(memberId, cursor.createdAt(), cursor.id(), limit);
+
+        if (chats.size() <= pageSize) {
+            return new ChatHistoryResponse(chats, null);
+        }
+
+        List<ChatHistoryItem> page = chats.subList(0, pageSize);
+        return new ChatHistoryResponse(page, ChatHistoryCursor.of(page.get(pageSize - 1)).encode());
     }
 }
@@ -0,0 +1,266 @@
+package org.ll.bugburgerbackend.domain.chat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.ll.bugburgerbackend.domain.chat.service.ChatWriteBehindQueue.PendingChat;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// write-behind 가 DB 에 쓰지 못한 행을 directory 에 JSON 한 줄씩 남겼다가 다시 적재한다.
+// blue/green 두 인스턴스가 같은 디렉터리를 마운트하므로 파일은 인스턴스마다 따로 쓴다.
+//
+// - 인스턴스는 자기 세그먼트(<instanceId>-<seq>.jsonl) 에만 덧붙이고, 살아 있는 동안 그 파일에 배타 잠금을 건다.
+// - 적재할 파일은 잠금을 잡은 채 *.replaying 으로 이름을 바꿔 가져온다. 이름 바꾸기는 원자적이라 한 인스턴스만 성공한다.
+// - 다른 인스턴스의 파일은 잠금을 잡을 수 있을 때, 즉 주인이 종료됐거나 죽었을 때만 가져온다.
+// - 자기 세그먼트는 새 세그먼트를 연 다음 이전 세그먼트를 잠금을 쥔 채로 가져온다.
+//
+// 적재 도중 프로세스가 죽으면 남은 .replaying 파일은 다른 인스턴스가 다시 적재한다. 이때 이미 들어간 행이 한 번 더 들어갈 수 있다.
+@Slf4j
+final class ChatSpillStore implements Closeable {
+    private static final String SEGMENT_SUFFIX = ".jsonl";
+    private static final String REPLAYING_SUFFIX = ".replaying";
+    private static final String CREATING_SUFFIX = ".creating";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private Segment active;
+    private int sequence;
+
+    ChatSpillStore(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+    }
+
+    synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+        active = openSegment();
+    }
+
+    synchronized void append(List<PendingChat> chats) throws IOException {
+        if (active == null) {
+            throw new IOException("Spill store is closed: " + directory);
+        }
+
+        StringBuilder lines = new StringBuilder();
+        for (PendingChat chat : chats) {
+            lines.append(objectMapper.writeValueAsString(chat)).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            active.channel().write(buffer);
+        }
+        active.rows += chats.size();
+    }
+
+    // 적재할 수 있는 파일을 모두 batchSize 씩 sink 로 넘긴다. sink 가 다시 append 해도 새 세그먼트에 들어간다.
+    int replay(int batchSize, Consumer<List<PendingChat>> sink) {
+        int replayed = 0;
+
+        Segment own = rotate();
+        if (own != null) {
+            replayed += replayClaimed(own.path(), own.channel(), batchSize, sink);
+        }
+
+        List<Path> candidates = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!name.startsWith(instanceId)
+                        && (name.endsWith(SEGMENT_SUFFIX) || name.endsWith(REPLAYING_SUFFIX))) {
+                    candidates.add(file);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to list spilled chats in {}", directory, e);
+            return replayed;
+        }
+
+        for (Path file : candidates) {
+            replayed += claimAndReplay(file, batchSize, sink);
+        }
+        return replayed;
+    }
+
+    // 남은 행이 있는 세그먼트는 잠금만 풀어 두고, 다음 인스턴스나 재기동한 인스턴스가 가져간다.
+    @Override
+    public synchronized void close() {
+        if (active == null) {
+            return;
+        }
+        try {
+            if (active.rows == 0 && active.channel().size() == 0) {
+                Files.deleteIfExists(active.path());
+            }
+            active.channel().close();
+        } catch (IOException e) {
+            log.error("Failed to close spill segment {}", active.path(), e);
+        }
+        active = null;
+    }
+
+    // 쓰인 행이 있으면 새 세그먼트로 바꾸고 이전 세그먼트를 잠금째 돌려준다.
+    private synchronized Segment rotate() {
+        if (active == null || active.rows == 0) {
+            return null;
+        }
+        Segment previous = active;
+        try {
+            active = openSegment();
+        } catch (IOException e) {
+            log.error("Failed to open a new spill segment in {}", directory, e);
+            return null;
+        }
+        return previous;
+    }
+
+    private int claimAndReplay(Path file, int batchSize, Consumer<List<PendingChat>> sink) {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (NoSuchFileException e) {
+            // 다른 인스턴스가 먼저 가져갔다.
+            return 0;
+        } catch (IOException e) {
+            log.error("Failed to open spilled chats {}", file, e);
+            return 0;
+        }
+
+        try {
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null;
+            }
+            if (lock == null) {
+                // 주인이 아직 쓰고 있거나 다른 인스턴스가 적재 중이다.
+                channel.close();
+                return 0;
+            }
+            return replayClaimed(file, channel, batchSize, sink);
+        } catch (IOException e) {
+            log.error("Failed to claim spilled chats {}", file, e);
+            closeQuietly(channel);
+            return 0;
+        }
+    }
+
+    // channel 의 잠금을 쥔 상태에서 불린다. 이름을 바꿔 가져오고, 다 넘기면 지운 뒤에 잠금을 푼다.
+    private int replayClaimed(Path file, FileChannel channel, int batchSize, Consumer<List<PendingChat>> sink) {
+        try (channel) {
+            Path claimed = directory.resolve(baseName(file) + "." + instanceId + REPLAYING_SUFFIX);
+            try {
+                Files.move(file, claimed, StandardCopyOption.ATOMIC_MOVE);
+            } catch (NoSuchFileException e) {
+                return 0;
+            }
+
+            int replayed = 0;
+            List<PendingChat> batch = new ArrayList<>(batchSize);
+            channel.position(0);
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(objectMapper.readValue(line, PendingChat.class));
+                } catch (JsonProcessingException e) {
+                    log.error("Skipping malformed spilled chat in {}: {}", file, line, e);
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    sink.accept(batch);
+                    replayed += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                sink.accept(batch);
+                replayed += batch.size();
+            }
+
+            Files.delete(claimed);
+            if (replayed > 0) {
+                log.info("Replayed {} spilled chats from {}", replayed, file.getFileName());
+            }
+            return replayed;
+        } catch (IOException e) {
+            log.error("Failed to replay spilled chats from {}", file, e);
+            return 0;
+        }
+    }
+
+    // 잠금을 먼저 잡고 나서 다른 인스턴스가 보는 이름으로 바꾼다. 잠금 전에 가져가는 일이 없도록 한다.
+    private Segment openSegment() throws IOException {
+        String name = instanceId + "-" + (sequence++);
+        Path creating = directory.resolve(name + CREATING_SUFFIX);
+        // 적재할 때 같은 채널로 읽으므로 READ 로도 연다. 새 파일에 순서대로만 쓰므로 APPEND 없이도 끝에 덧붙는다.
+        FileChannel channel = FileChannel.open(creating,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            channel.lock();
+            Path path = directory.resolve(name + SEGMENT_SUFFIX);
+            Files.move(creating, path, StandardCopyOption.ATOMIC_MOVE);
+            return new Segment(path, channel);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    private static String baseName(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(0, name.indexOf('.'));
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private int rows;
+
+        private Segment(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+
+        Path path() {
+            return path;
+        }
+
+        FileChannel channel() {
+            return channel;
+        }
+    }
+}
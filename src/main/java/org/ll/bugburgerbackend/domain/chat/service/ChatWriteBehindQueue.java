@@ -0,0 +1,260 @@
+package org.ll.bugburgerbackend.domain.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.ll.bugburgerbackend.domain.chat.entity.Chat;
+import org.ll.bugburgerbackend.domain.member.entity.Member;
+import org.ll.bugburgerbackend.global.type.ChatType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Chat 저장을 요청 스레드에서 떼어내 모아서 JDBC 배치로 기록한다.
+// StatelessSession 으로 insert 하므로 영속성 컨텍스트를 거치지 않고, id 는 엔티티와 같은 pooled 시퀀스에서 받는다.
+// batchSize 만큼 모이거나 flushIntervalMillis 가 지나면 한 번에 insert 하고,
+// 큐가 가득 찼거나 DB 쓰기가 실패하면 spillDir 의 인스턴스별 파일에 남겨 두고, 기동 시와 spillRetryIntervalMillis 마다 다시 적재한다.
+// 웹 서버가 요청을 다 처리하고 멈춘 뒤에 멈추도록 phase 를 웹 서버보다 낮게 둔다. 종료 중에 들어온 메시지도 큐를 거쳐 기록된다.
+@Slf4j
+@Component
+public class ChatWriteBehindQueue implements SmartLifecycle {
+    // 웹 서버의 graceful shutdown(DEFAULT_PHASE - 1024)과 정지(DEFAULT_PHASE - 2048)보다 뒤에 멈춘다.
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final SessionFactory sessionFactory;
+    private final BlockingQueue<PendingChat> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long shutdownTimeoutMillis;
+    private final long spillRetryIntervalMillis;
+    private final ChatSpillStore spillStore;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder insertedRows = new LongAdder();
+    private final LongAdder flushedBatches = new LongAdder();
+    private final LongAdder spilledRows = new LongAdder();
+
+    private volatile boolean running;
+    private Thread flusher;
+    private ScheduledExecutorService replayScheduler;
+
+    public ChatWriteBehindQueue(
+            EntityManagerFactory entityManagerFactory,
+            ObjectMapper objectMapper,
+            @Value("${custom.chat.writeBehind.queueCapacity}") int queueCapacity,
+            @Value("${custom.chat.writeBehind.batchSize}") int batchSize,
+            @Value("${custom.chat.writeBehind.flushIntervalMillis}") long flushIntervalMillis,
+            @Value("${custom.chat.writeBehind.shutdownTimeoutMillis}") long shutdownTimeoutMillis,
+            @Value("${custom.chat.writeBehind.spillDir}") String spillDir,
+            @Value("${custom.chat.writeBehind.spillRetryIntervalMillis}") long spillRetryIntervalMillis
+    ) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.spillRetryIntervalMillis = spillRetryIntervalMillis;
+        this.spillStore = new ChatSpillStore(Path.of(spillDir), objectMapper);
+    }
+
+    public void enqueue(Long memberId, String message, ChatType chatType) {
+        PendingChat chat = new PendingChat(memberId, message, chatType, LocalDateTime.now());
+        enqueued.increment();
+
+        if (!running || !queue.offer(chat)) {
+            // DB 가 밀려 큐가 가득 찬 경우. 응답을 막지 않도록 파일에 남긴다.
+            spill(List.of(chat));
+        }
+    }
+
+    @Override
+    public void start() {
+        try {
+            spillStore.open();
+        } catch (IOException e) {
+            log.error("Failed to open spill store, chats that cannot be written will be lost", e);
+        }
+        replaySpilled();
+
+        running = true;
+        flusher = new Thread(this::runFlusher, "chat-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+
+        // DB 장애로 남긴 행과 먼저 종료된 인스턴스가 남긴 행을 주기적으로 다시 적재한다.
+        replayScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-spill-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        replayScheduler.scheduleWithFixedDelay(this::replaySpilled,
+                spillRetryIntervalMillis, spillRetryIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        replayScheduler.shutdownNow();
+        try {
+            replayScheduler.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        flusher.interrupt();
+        try {
+            flusher.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 종료 시점에 남은 메시지를 모두 기록한다.
+        List<PendingChat> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            write(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+        // 남은 행이 있는 파일은 잠금을 풀어 두고 다른 인스턴스가 가져가게 한다.
+        spillStore.close();
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runFlusher() {
+        List<PendingChat> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingChat first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remainingNanos <= 0) {
+                        break;
+                    }
+                    PendingChat next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                write(batch);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingChat> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.setJdbcBatchSize(batchSize);
+            Transaction transaction = session.beginTransaction();
+            try {
+                for (PendingChat chat : batch) {
+                    session.insert(Chat.builder()
+                            // FK 값만 필요하므로 id 만 채운 참조를 넘긴다.
+                            .member(Member.builder().id(chat.memberId()).build())
+                            .message(chat.message())
+                            .chatType(chat.chatType())
+                            .createdAt(chat.createdAt())
+                            .modifiedAt(chat.createdAt())
+                            .build());
+                }
+                transaction.commit();
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+            insertedRows.add(batch.size());
+            flushedBatches.increment();
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} chats, spilling them", batch.size(), e);
+            spill(batch);
+        }
+    }
+
+    private void spill(List<PendingChat> chats) {
+        try {
+            spillStore.append(chats);
+            spilledRows.add(chats.size());
+        } catch (IOException e) {
+            log.error("Failed to spill {} chats", chats.size(), e);
+        }
+    }
+
+    // 다시 실패한 행은 write 가 새 파일에 남기므로 적재한 파일은 지워진다.
+    private void replaySpilled() {
+        try {
+            spillStore.replay(batchSize, this::write);
+        } catch (RuntimeException e) {
+            log.error("Failed to replay spilled chats", e);
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getEnqueued() {
+        return enqueued.sum();
+    }
+
+    public long getInsertedRows() {
+        return insertedRows.sum();
+    }
+
+    public long getFlushedBatches() {
+        return flushedBatches.sum();
+    }
+
+    public long getSpilledRows() {
+        return spilledRows.sum();
+    }
+
+    record PendingChat(
+            Long memberId,
+            String message,
+            ChatType chatType,
+            LocalDateTime createdAt
+    ) {
+    }
+}
@@ -8,8 +8,10 @@ import org.ll.bugburgerbackend.domain.member.dto.SignInRequest;
 import org.ll.bugburgerbackend.domain.member.dto.SignInResponse;
 import org.ll.bugburgerbackend.domain.member.dto.SignUpRequest;
 import org.ll.bugburgerbackend.domain.member.dto.MemberInfoResponse;
+import org.ll.bugburgerbackend.domain.member.dto.MemberSnapshot;
 import org.ll.bugburgerbackend.domain.member.entity.Member;
 import org.ll.bugburgerbackend.domain.member.service.MemberService;
+import org.ll.bugburgerbackend.global.rq.Rq;
 import org.ll.bugburgerbackend.global.webMvc.LoginUser;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -26,6 +28,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequiredArgsConstructor
@@ -40,7 +43,7 @@ public class MemberController {
     }
 
     @GetMapping("/my")
-    public ResponseEntity<MemberInfoResponse> getMyInfo(@LoginUser Member loginMember) {
+    public ResponseEntity<MemberInfoResponse> getMyInfo(@LoginUser MemberSnapshot loginMember) {
 
         if (loginMember == null) {
             return ResponseEntity.status(401).build();
@@ -52,7 +55,7 @@ public class MemberController {
     }
 
     @PatchMapping("/my")
-    public ResponseEntity<MemberUpdateResponse> updateMyInfo(@LoginUser Member loginMember,
+    public ResponseEntity<MemberUpdateResponse> updateMyInfo(@LoginUser MemberSnapshot loginMember,
                                                              @Valid @RequestBody MemberUpdateRequest memberUpdateRequest) {
         if (loginMember == null) {
             return ResponseEntity.status(401).build();
@@ -87,28 +90,35 @@ public class MemberController {
             .body(Map.of("accessToken", newAccessToken));
     }
 
+    // BCrypt 가 끝날 때까지 요청 스레드를 잡지 않도록 CompletableFuture 로 응답한다.
+    // PasswordHasherBusyException 등 future 의 예외는 Spring 이 풀어서 GlobalExceptionHandler 로 넘긴다.
     @PostMapping("/sign-in")
-    public ResponseEntity<SignInResponse> signIn(@Valid @RequestBody SignInRequest signInRequest) {
-        SignInResponse signInResponse = memberService.signIn(signInRequest);
-
-        return ResponseEntity.ok(signInResponse);
-
+    public CompletableFuture<ResponseEntity<SignInResponse>> signIn(@Valid @RequestBody SignInRequest signInRequest) {
+        return memberService.signIn(signInRequest).thenApply(this::signedIn);
     }
 
     @PostMapping("/sign-up")
-    public ResponseEntity<SignInResponse> signUp(@Valid @RequestBody SignUpRequest signUpRequest) {
-        SignInResponse signInResponse = memberService.signUp(signUpRequest);
+    public CompletableFuture<ResponseEntity<SignInResponse>> signUp(@Valid @RequestBody SignUpRequest signUpRequest) {
+        return memberService.signUp(signUpRequest).thenApply(this::signedIn);
+    }
 
-        return ResponseEntity.ok(signInResponse);
+    // BCrypt 스레드에서 불리므로 요청 스코프의 Rq 를 쓰지 않고 쿠키를 응답에 직접 붙인다.
+    private ResponseEntity<SignInResponse> signedIn(Member member) {
+        String accessToken = memberService.genAccessToken(member);
+
+        return ResponseEntity.ok()
+            .header(HttpHeaders.SET_COOKIE, Rq.cookie("apiKey", member.getToken()).toString())
+            .header(HttpHeaders.SET_COOKIE, Rq.cookie("accessToken", accessToken).toString())
+            .body(new SignInResponse(accessToken));
     }
 
     @PostMapping("/sign-out")
-    public ResponseEntity<Void> signOut(@LoginUser Member loginMember) {
+    public ResponseEntity<Void> signOut(@LoginUser MemberSnapshot loginMember) {
         if (loginMember == null) {
             return ResponseEntity.status(401).build();
         }
 
-        memberService.signOut();
+        memberService.signOut(loginMember);
 
         return ResponseEntity.ok().build();
     }
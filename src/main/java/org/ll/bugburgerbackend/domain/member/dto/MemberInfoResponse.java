@@ -32,5 +32,21 @@ public record MemberInfoResponse(
             member.getCaregiverEmail()
         );
     }
-}
 
+    public static MemberInfoResponse from(MemberSnapshot member) {
+        return new MemberInfoResponse(
+            member.username(),
+            member.nickname(),
+            member.birth(),
+            member.gender().toString(),
+            member.dementiaStage().toString(),
+            member.interests(),
+            member.background(),
+            member.family(),
+            member.caregiverName(),
+            member.caregiverPhone(),
+            member.patientPhone(),
+            member.caregiverEmail()
+        );
+    }
+}
@@ -0,0 +1,43 @@
+package org.ll.bugburgerbackend.domain.member.dto;
+
+import org.ll.bugburgerbackend.domain.member.entity.Member;
+import org.ll.bugburgerbackend.global.type.DementiaStage;
+import org.ll.bugburgerbackend.global.type.GenderType;
+
+// SecurityContext 에 올리는 로그인 회원의 불변 스냅샷
+// 비밀번호와 토큰은 담지 않는다. 엔티티가 꼭 필요한 경우에만 id 로 다시 조회한다.
+public record MemberSnapshot(
+        Long id,
+        String username,
+        String nickname,
+        String birth,
+        GenderType gender,
+        DementiaStage dementiaStage,
+        String interests,
+        String background,
+        String family,
+        String recentAnalysis,
+        String caregiverName,
+        String caregiverPhone,
+        String patientPhone,
+        String caregiverEmail
+) {
+    public static MemberSnapshot from(Member member) {
+        return new MemberSnapshot(
+                member.getId(),
+                member.getUsername(),
+                member.getNickname(),
+                member.getBirth(),
+                member.getGender(),
+                member.getDementiaStage(),
+                member.getInterests(),
+                member.getBackground(),
+                member.getFamily(),
+                member.getRecentAnalysis(),
+                member.getCaregiverName(),
+                member.getCaregiverPhone(),
+                member.getPatientPhone(),
+                member.getCaregiverEmail()
+        );
+    }
+}
@@ -10,6 +10,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.ll.bugburgerbackend.domain.chat.entity.Chat;
 import org.ll.bugburgerbackend.global.baseEntity.BaseEntity;
 import org.ll.bugburgerbackend.global.type.DementiaStage;
@@ -18,12 +20,16 @@ import org.ll.bugburgerbackend.global.type.GenderType;
 import java.util.List;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Member.CACHE_REGION)
 @Setter
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
 @SuperBuilder
 public class Member extends BaseEntity {
+    public static final String CACHE_REGION = "member";
+    // findByUsername/findByNickname 결과(회원 id)를 담는 쿼리 캐시 region
+    public static final String LOOKUP_CACHE_REGION = "member-lookup";
 
     @Column(nullable = false, length = 20)
     private String username;
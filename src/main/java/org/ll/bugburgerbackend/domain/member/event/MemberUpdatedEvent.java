@@ -0,0 +1,7 @@
+package org.ll.bugburgerbackend.domain.member.event;
+
+// 회원 정보가 바뀌었음을 알리는 이벤트. 회원 정보를 캐시하는 컴포넌트들이 이 이벤트로 캐시를 비운다.
+public record MemberUpdatedEvent(
+        Long memberId
+) {
+}
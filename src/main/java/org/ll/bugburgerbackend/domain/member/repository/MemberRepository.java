@@ -1,7 +1,10 @@
 package org.ll.bugburgerbackend.domain.member.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.ll.bugburgerbackend.domain.member.entity.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,9 +12,19 @@ import java.util.Optional;
 @Repository
 public interface MemberRepository extends JpaRepository<Member, Long> {
 
+    // 토큰 재발급 때만 쓰이고 토큰마다 한 번씩 조회되므로 쿼리 캐시에 두지 않는다. unique 인덱스로 바로 찾는다.
     Optional<Member> findByToken(String token);
 
+    // 결과는 Member 2차 캐시에서 엔티티로 복원된다. member 테이블이 바뀌면 Hibernate 가 쿼리 캐시를 무효화한다.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Member.LOOKUP_CACHE_REGION)
+    })
     Optional<Member> findByUsername(String username);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Member.LOOKUP_CACHE_REGION)
+    })
     Optional<Object> findByNickname(String username);
 }
@@ -3,6 +3,7 @@ package org.ll.bugburgerbackend.domain.member.service;
 import lombok.RequiredArgsConstructor;
 import org.ll.bugburgerbackend.domain.member.entity.Member;
 import org.ll.bugburgerbackend.global.Ut.Ut;
+import org.ll.bugburgerbackend.global.jwt.JwtVerifier;
 import org.ll.bugburgerbackend.global.rq.Rq;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -19,6 +20,7 @@ public class AuthTokenService {
     private long accessTokenExpirationSeconds;
 
     private final Rq rq;
+    private final JwtVerifier jwtVerifier;
 
     String genAccessToken(Member member) {
         long id = member.getId();
@@ -32,7 +34,7 @@ public class AuthTokenService {
     }
 
     Map<String, Object> payload(String accessToken) {
-        Map<String, Object> parsedPayload = Ut.jwt.payload(jwtSecretKey, accessToken);
+        Map<String, Object> parsedPayload = jwtVerifier.verify(accessToken);
 
         if (parsedPayload == null) return null;
 
@@ -0,0 +1,86 @@
+package org.ll.bugburgerbackend.domain.member.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.ll.bugburgerbackend.domain.member.dto.MemberSnapshot;
+import org.ll.bugburgerbackend.domain.member.event.MemberUpdatedEvent;
+import org.ll.bugburgerbackend.domain.member.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+// JwtAuthenticationFilter 가 요청마다 회원을 DB 에서 읽지 않도록 회원 스냅샷을 TTL 동안 캐시한다.
+// 회원 정보 수정, 로그아웃, 토큰 재발급 시 해당 회원 항목을 비운다.
+// 조회는 Caffeine 의 회원별 compute 안에서 한다. 조회 중에 들어온 evict 는 조회가 끝나기를 기다렸다가 그 결과를 비우므로
+// 수정 전에 읽은 스냅샷이 evict 뒤에 남지 않는다.
+@Slf4j
+@Component
+public class MemberPrincipalCache {
+    private final MemberRepository memberRepository;
+    private final Cache<Long, MemberSnapshot> principals;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    public MemberPrincipalCache(
+            MemberRepository memberRepository,
+            @Value("${custom.principalCache.ttlSeconds}") long ttlSeconds,
+            @Value("${custom.principalCache.maxSize}") int maxSize
+    ) {
+        this.memberRepository = memberRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public Optional<MemberSnapshot> get(Long memberId) {
+        MemberSnapshot cached = principals.getIfPresent(memberId);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        // 없는 회원은 캐시하지 않는다.
+        return Optional.ofNullable(principals.get(memberId, this::load));
+    }
+
+    public void evict(Long memberId) {
+        principals.invalidate(memberId);
+    }
+
+    // 트랜잭션 안에서 발행돼도 커밋된 뒤에 비운다. 트랜잭션 밖에서 발행되면 바로 비운다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMemberUpdated(MemberUpdatedEvent event) {
+        log.debug("Evicting cached principal for member {}", event.memberId());
+        evict(event.memberId());
+    }
+
+    private MemberSnapshot load(Long memberId) {
+        long start = System.nanoTime();
+        loads.increment();
+        try {
+            return memberRepository.findById(memberId).map(MemberSnapshot::from).orElse(null);
+        } finally {
+            loadNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    public long getLoadNanos() {
+        return loadNanos.sum();
+    }
+}
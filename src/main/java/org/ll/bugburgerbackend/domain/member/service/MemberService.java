@@ -5,25 +5,25 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j; // Slf4j 임포트 추가
 import org.hibernate.service.spi.ServiceException;
 import org.ll.bugburgerbackend.domain.member.dto.MemberInfoResponse;
+import org.ll.bugburgerbackend.domain.member.dto.MemberSnapshot;
 import org.ll.bugburgerbackend.domain.member.dto.MemberUpdateRequest;
 import org.ll.bugburgerbackend.domain.member.dto.MemberUpdateResponse;
 import org.ll.bugburgerbackend.domain.member.dto.SignInRequest;
-import org.ll.bugburgerbackend.domain.member.dto.SignInResponse;
 import org.ll.bugburgerbackend.domain.member.dto.SignUpRequest;
 import org.ll.bugburgerbackend.domain.member.entity.Member;
+import org.ll.bugburgerbackend.domain.member.event.MemberUpdatedEvent;
 import org.ll.bugburgerbackend.domain.member.repository.MemberRepository;
 // import org.ll.bugburgerbackend.global.error.ErrorCode; // ErrorCode 사용 시 주석 해제
-import org.ll.bugburgerbackend.global.rq.Rq;
 import org.ll.bugburgerbackend.global.type.DementiaStage;
 import org.ll.bugburgerbackend.global.type.GenderType;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.nio.charset.StandardCharsets; // StandardCharsets 임포트 추가
-import java.util.Arrays; // Arrays 임포트 추가
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -32,10 +32,12 @@ public class MemberService {
 
      private final MemberRepository memberRepository;
      private final AuthTokenService authTokenService;
-     private final PasswordEncoder passwordEncoder;
-    private final Rq rq;
+     private final PasswordHasher passwordHasher;
+     private final TransactionTemplate transactionTemplate;
+     private final ApplicationEventPublisher eventPublisher;
+     private final MemberPrincipalCache memberPrincipalCache;
 
-     public MemberInfoResponse getMyInfo(Member loginUser) {
+     public MemberInfoResponse getMyInfo(MemberSnapshot loginUser) {
          return MemberInfoResponse.from(loginUser);
      }
 
@@ -43,7 +45,14 @@ public class MemberService {
          return memberRepository.findById(memberId);
      }
 
+    // 인증 필터용. TTL 동안은 DB 를 거치지 않고 캐시된 스냅샷을 돌려준다.
+    public Optional<MemberSnapshot> findSnapshotById(Long memberId) {
+        return memberPrincipalCache.get(memberId);
+    }
+
+    // 로그인과 토큰 재발급 모두 이 경로로 토큰을 만든다. 새 토큰에는 최신 회원 정보를 쓰도록 캐시를 비운다.
     public String genAccessToken(Member member) {
+        memberPrincipalCache.evict(member.getId());
         return authTokenService.genAccessToken(member);
     }
 
@@ -51,128 +60,86 @@ public class MemberService {
         return memberRepository.findByToken(token);
     }
 
-    @Transactional
-    public SignInResponse signIn(SignInRequest signInRequest) {
-        String rawPasswordFromRequest = signInRequest.password();
+    // BCrypt 비교 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션 없이 처리한다. (조회는 repository 트랜잭션으로 충분하다)
+    // 비교는 BCrypt 스레드에서 끝나므로, 쿠키는 요청 스코프의 Rq 대신 컨트롤러가 응답에 직접 붙인다.
+    public CompletableFuture<Member> signIn(SignInRequest signInRequest) {
         String username = signInRequest.username();
 
-        log.info("========== PASSWORD MATCHING DEBUG START for user: {} ==========", username);
-        log.info("1. Raw Password from Request: '{}'", rawPasswordFromRequest);
-        if (rawPasswordFromRequest != null) {
-            log.info("2. Length of Raw Password from Request: {}", rawPasswordFromRequest.length());
-            log.info("3. Raw Password Bytes (UTF-8) from Request: {}", Arrays.toString(rawPasswordFromRequest.getBytes(StandardCharsets.UTF_8)));
-            StringBuilder rawPasswordChars = new StringBuilder();
-            for (char c : rawPasswordFromRequest.toCharArray()) {
-                rawPasswordChars.append(String.format("'%c'(%d) ", c, (int) c));
-            }
-            log.info("4. Raw Password Characters (char, int_value): [{}]", rawPasswordChars.toString().trim());
-        } else {
-            log.warn("2. Raw Password from Request is NULL for user: {}", username);
-        }
-        log.info("--------------------------------------------------------------------");
-
-        Member member = memberRepository.findByUsername(signInRequest.username())
+        Member member = memberRepository.findByUsername(username)
                 .orElseThrow(() -> {
-                    log.warn("[SignIn] User not found: {}", signInRequest.username());
+                    log.atWarn().setMessage("[SignIn] User not found").addKeyValue("username", username).log();
                     return new EntityNotFoundException("해당 유저는 존재하지 않습니다.");
                 });
 
-        String hashedPasswordFromDB = member.getPassword();
-        log.info("5. Hashed Password from DB for user {}: '{}'", username, hashedPasswordFromDB);
-        if (hashedPasswordFromDB != null) {
-            log.info("6. Length of Hashed Password from DB: {}", hashedPasswordFromDB.length());
-            log.info("7. Hashed Password Bytes (UTF-8) from DB: {}", Arrays.toString(hashedPasswordFromDB.getBytes(StandardCharsets.UTF_8)));
-        } else {
-            log.warn("6. Hashed Password from DB is NULL for user: {}", username);
-        }
-        log.info("--------------------------------------------------------------------");
-
-        boolean passwordMatchesResult = false;
-        if (rawPasswordFromRequest != null && hashedPasswordFromDB != null) {
-            passwordMatchesResult = passwordEncoder.matches(rawPasswordFromRequest, hashedPasswordFromDB);
-        } else {
-            log.error("Cannot perform password match for user {} because raw password or hashed password from DB is null. Raw: {}, DB: {}",
-                    username, rawPasswordFromRequest == null ? "NULL" : "NOT_NULL", hashedPasswordFromDB == null ? "NULL" : "NOT_NULL");
-        }
-        log.info("8. Result of passwordEncoder.matches(requestPassword, dbHash) for user {}: {}", username, passwordMatchesResult);
-        log.info("========== PASSWORD MATCHING DEBUG END for user: {} ==========", username);
-
-        if (!passwordMatchesResult) { // Line 56 (원래 예외 발생 지점)
-            log.error("Password mismatch for user: {}. Raw password was '{}' (length {}), DB hash was '{}' (length {})",
-                    username,
-                    rawPasswordFromRequest,
-                    rawPasswordFromRequest != null ? rawPasswordFromRequest.length() : "N/A",
-                    hashedPasswordFromDB,
-                    hashedPasswordFromDB != null ? hashedPasswordFromDB.length() : "N/A");
-            // 더 나은 예외 처리를 위해 ErrorCode.PASSWORD_MISMATCH 를 사용하는 커스텀 예외를 고려하세요.
-            // 예: throw new BusinessException(ErrorCode.PASSWORD_MISMATCH);
+        String hashedPassword = member.getPassword();
+        if (hashedPassword == null) {
+            log.atWarn().setMessage("[SignIn] Password mismatch").addKeyValue("memberId", member::getId).log();
             throw new ServiceException("비밀번호가 일치하지 않습니다.");
         }
 
-        String token = rq.makeAuthCookies(member);
-
-        return new SignInResponse(token);
+        return passwordHasher.matches(signInRequest.password(), hashedPassword).thenApply(matches -> {
+            if (!matches) {
+                log.atWarn().setMessage("[SignIn] Password mismatch").addKeyValue("memberId", member::getId).log();
+                throw new ServiceException("비밀번호가 일치하지 않습니다.");
+            }
+            return member;
+        });
     }
 
-    @Transactional
-    public SignInResponse signUp(SignUpRequest signUpRequest) {
+    // 해싱은 트랜잭션 밖에서 하고, 중복 확인과 insert 만 한 트랜잭션으로 묶는다.
+    // 앞의 nickname 확인은 해싱 전에 빨리 거절하기 위한 것이고, 해싱하는 동안 같은 nickname 으로 가입했을 수 있어 트랜잭션 안에서 다시 확인한다.
+    public CompletableFuture<Member> signUp(SignUpRequest signUpRequest) {
         String nickname = signUpRequest.nickname();
         String username = signUpRequest.username();
         String rawPassword = signUpRequest.password(); // 회원가입 시 평문 비밀번호
 
-        log.info("[SignUp] Attempting to sign up user: {}, nickname: {}", username, nickname);
-        log.info("[SignUp] Plain password for new user {}: '{}' (length: {})", username, rawPassword, rawPassword != null ? rawPassword.length() : "N/A");
-        if (rawPassword != null) {
-            StringBuilder rawPasswordChars = new StringBuilder();
-            for (char c : rawPassword.toCharArray()) {
-                rawPasswordChars.append(String.format("'%c'(%d) ", c, (int) c));
-            }
-            log.info("[SignUp] Plain password characters for user {} (char, int_value): [{}]", username, rawPasswordChars.toString().trim());
-        }
-
+        checkNicknameAvailable(nickname);
+
+        return passwordHasher.encode(rawPassword).thenApply(encodedPassword -> transactionTemplate.execute(status -> {
+            checkNicknameAvailable(nickname);
+
+            Member member = memberRepository.save(Member.builder()
+                    .username(username)
+                    .password(encodedPassword) // 암호화된 비밀번호 사용
+                    .nickname(nickname)
+                    .birth(signUpRequest.birth())
+                    .gender(GenderType.valueOf(signUpRequest.gender()))
+                    .dementiaStage(DementiaStage.valueOf(signUpRequest.dementiaStage()))
+                    .interests(signUpRequest.interests())
+                    .background(signUpRequest.background())
+                    .family(signUpRequest.family())
+                    .caregiverName(signUpRequest.caregiverName())
+                    .caregiverPhone(signUpRequest.caregiverPhone())
+                    .patientPhone(signUpRequest.patientPhone())
+                    .caregiverEmail(signUpRequest.caregiverEmail())
+                    .token(UUID.randomUUID().toString())
+                    .build());
+            log.atInfo().setMessage("[SignUp] Member created").addKeyValue("memberId", member::getId).log();
+
+            // 방금 저장한 엔티티로 바로 세션을 발급한다. 다시 조회하고 BCrypt 비교를 반복할 필요가 없다.
+            return member;
+        }));
+    }
 
+    private void checkNicknameAvailable(String nickname) {
         memberRepository
                 .findByNickname(nickname)
                 .ifPresent(user -> {
-                    log.warn("[SignUp] Nickname {} already in use.", nickname);
+                    log.atWarn().setMessage("[SignUp] Nickname already in use").addKeyValue("nickname", nickname).log();
                     throw new ServiceException("해당 nickname은 이미 사용중입니다.");
                 });
-        
-        String encodedPassword = passwordEncoder.encode(rawPassword);
-        log.info("[SignUp] Encoded password for user {}: '{}' (length: {})", username, encodedPassword, encodedPassword.length());
-
-        Member member = memberRepository.save(Member.builder()
-                .username(username)
-                .password(encodedPassword) // 암호화된 비밀번호 사용
-                .nickname(nickname)
-                .birth(signUpRequest.birth())
-                .gender(GenderType.valueOf(signUpRequest.gender()))
-                .dementiaStage(DementiaStage.valueOf(signUpRequest.dementiaStage()))
-                .interests(signUpRequest.interests())
-                .background(signUpRequest.background())
-                .family(signUpRequest.family())
-                .caregiverName(signUpRequest.caregiverName())
-                .caregiverPhone(signUpRequest.caregiverPhone())
-                .patientPhone(signUpRequest.patientPhone())
-                .caregiverEmail(signUpRequest.caregiverEmail())
-                .token(UUID.randomUUID().toString())
-                .build());
-        log.info("[SignUp] User {} signed up successfully with ID: {}", username, member.getId());
-
-        // 회원가입 후 로그인
-        // 주의: signUpRequest.password()는 평문이므로 그대로 전달
-        return signIn(new SignInRequest(username, rawPassword));
-     }
+    }
 
-    public void signOut() {
+    public void signOut(MemberSnapshot loginMember) {
+         memberPrincipalCache.evict(loginMember.id());
          authTokenService.deleteCookies();
     }
 
-    public MemberUpdateResponse updateMyInfo(Member loginMember, MemberUpdateRequest memberUpdateRequest) {
+    public MemberUpdateResponse updateMyInfo(MemberSnapshot loginMember, MemberUpdateRequest memberUpdateRequest) {
         Member member = memberRepository.findById(memberUpdateRequest.id()).orElseThrow(()
                 -> new EntityNotFoundException("해당 유저는 존재하지 않습니다."));
 
-        if (!loginMember.getUsername().equals(member.getUsername())) {
+        if (!loginMember.username().equals(member.getUsername())) {
             throw new ServiceException("해당 유저는 존재하지 않습니다.");
         }
 
@@ -197,6 +164,7 @@ public class MemberService {
         }
 
         memberRepository.save(member);
+        eventPublisher.publishEvent(new MemberUpdatedEvent(member.getId()));
 
         return new MemberUpdateResponse(member.getId());
     }
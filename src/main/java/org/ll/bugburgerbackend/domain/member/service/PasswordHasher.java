@@ -0,0 +1,111 @@
+package org.ll.bugburgerbackend.domain.member.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// BCrypt 인코딩/비교를 코어 수만큼의 전용 스레드에서만 실행한다.
+// 로그인이 몰려도 BCrypt 가 요청 스레드를 잡고 있지 않고(결과는 CompletableFuture 로 돌려준다), 대기열이 queueCapacity 를 넘으면
+// PasswordHasherBusyException 으로 바로 거절해 503 + Retry-After 로 응답한다.
+@Slf4j
+@Component
+public class PasswordHasher {
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder rejectedTasks = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+
+    public PasswordHasher(
+            PasswordEncoder passwordEncoder,
+            @Value("${custom.passwordHashing.threads}") int threads,
+            @Value("${custom.passwordHashing.queueCapacity}") int queueCapacity,
+            @Value("${custom.passwordHashing.retryAfterSeconds}") long retryAfterSeconds
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = retryAfterSeconds;
+        // threads 가 0 이면 사용 가능한 코어 수를 쓴다.
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return call(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return call(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // 요청 스레드는 결과를 기다리지 않는다. 이어지는 처리는 BCrypt 스레드에서 돈다.
+    // 대기열이 가득 차면 호출한 스레드에서 바로 PasswordHasherBusyException 을 던진다.
+    private <T> CompletableFuture<T> call(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.get();
+                } finally {
+                    hashNanos.add(System.nanoTime() - start);
+                    completedTasks.increment();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedTasks.increment();
+            log.warn("Password hashing queue full: active={}, queued={}", getActiveThreads(), getQueueDepth());
+            throw new PasswordHasherBusyException(retryAfterSeconds);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public int getPoolSize() {
+        return executor.getCorePoolSize();
+    }
+
+    public int getActiveThreads() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks.sum();
+    }
+
+    public long getRejectedTasks() {
+        return rejectedTasks.sum();
+    }
+
+    public long getHashNanos() {
+        return hashNanos.sum();
+    }
+}
@@ -0,0 +1,14 @@
+package org.ll.bugburgerbackend.domain.member.service;
+
+import lombok.Getter;
+
+// BCrypt 작업 큐가 가득 차 비밀번호 해싱을 받아들일 수 없는 경우
+@Getter
+public class PasswordHasherBusyException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public PasswordHasherBusyException(long retryAfterSeconds) {
+        super("Too many pending password hashing tasks");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,7 +1,6 @@
 package org.ll.bugburgerbackend.global.baseEntity;
 
 import jakarta.persistence.EntityListeners;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import lombok.AllArgsConstructor;
@@ -17,7 +16,6 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
 import static lombok.AccessLevel.PROTECTED;
 
 @MappedSuperclass
@@ -31,7 +29,7 @@ import static lombok.AccessLevel.PROTECTED;
 @EqualsAndHashCode
 public abstract class BaseEntity {
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @PooledSequenceId
     @EqualsAndHashCode.Include
     private Long id;
 
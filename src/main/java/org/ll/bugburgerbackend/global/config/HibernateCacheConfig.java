@@ -0,0 +1,64 @@
+package org.ll.bugburgerbackend.global.config;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.ll.bugburgerbackend.domain.member.entity.Member;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+
+// Hibernate 2차 캐시를 프로세스 내 Ehcache(JCache) 로 구성한다. 외부 캐시 서버 없이 H2 에서도 그대로 동작한다.
+// region 마다 최대 항목 수와 TTL 을 custom.secondLevelCache 로 조정한다.
+@Configuration
+public class HibernateCacheConfig {
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    // 컨텍스트가 닫힐 때 이 컨텍스트가 만든 CacheManager 만 닫는다.
+    @Bean(destroyMethod = "close")
+    CacheManager hibernateCacheManager(
+            @Value("${custom.secondLevelCache.member.maxEntries}") long memberMaxEntries,
+            @Value("${custom.secondLevelCache.member.ttlSeconds}") long memberTtlSeconds,
+            @Value("${custom.secondLevelCache.memberLookup.maxEntries}") long lookupMaxEntries,
+            @Value("${custom.secondLevelCache.memberLookup.ttlSeconds}") long lookupTtlSeconds,
+            @Value("${custom.secondLevelCache.updateTimestamps.maxEntries}") long timestampsMaxEntries
+    ) {
+        CachingProvider provider = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        // CacheManager 는 (URI, ClassLoader) 마다 하나라서 기본 값을 쓰면 한 JVM 의 컨텍스트(테스트, 벤치마크)가 모두 같은 것을 받는다.
+        // 컨텍스트마다 ClassLoader 를 따로 넘겨 자기 것을 받는다. 클래스는 부모 ClassLoader 에서 그대로 읽는다.
+        ClassLoader contextClassLoader = new ClassLoader(getClass().getClassLoader()) {
+        };
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), contextClassLoader);
+
+        createCache(cacheManager, Member.CACHE_REGION, memberMaxEntries, Duration.ofSeconds(memberTtlSeconds));
+        createCache(cacheManager, Member.LOOKUP_CACHE_REGION, lookupMaxEntries, Duration.ofSeconds(lookupTtlSeconds));
+        createCache(cacheManager, QUERY_RESULTS_REGION, lookupMaxEntries, Duration.ofSeconds(lookupTtlSeconds));
+        // 쿼리 캐시 무효화 기준이 되는 테이블별 수정 시각. 만료되면 안 되므로 TTL 을 두지 않는다.
+        createCache(cacheManager, UPDATE_TIMESTAMPS_REGION, timestampsMaxEntries, null);
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void createCache(CacheManager cacheManager, String region, long maxEntries, Duration ttl) {
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries));
+        if (ttl != null) {
+            builder = builder.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl));
+        }
+        cacheManager.createCache(region, Eh107Configuration.fromEhcacheCacheConfiguration(builder));
+    }
+}
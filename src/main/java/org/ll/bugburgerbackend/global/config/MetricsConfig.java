@@ -0,0 +1,186 @@
+package org.ll.bugburgerbackend.global.config;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.ll.bugburgerbackend.domain.chat.client.GeminiBulkhead;
+import org.ll.bugburgerbackend.domain.chat.service.ChatWriteBehindQueue;
+import org.ll.bugburgerbackend.domain.member.entity.Member;
+import org.ll.bugburgerbackend.domain.member.service.MemberPrincipalCache;
+import org.ll.bugburgerbackend.domain.member.service.PasswordHasher;
+import org.ll.bugburgerbackend.global.handler.SignalingHandler;
+import org.ll.bugburgerbackend.global.handler.relay.SignalingRelay;
+import org.ll.bugburgerbackend.global.handler.relay.SocketSignalingRelay;
+import org.ll.bugburgerbackend.global.jwt.JwtVerifier;
+import org.ll.bugburgerbackend.global.logging.DropCountingAsyncAppender;
+import org.ll.bugburgerbackend.global.logging.LogSamplingTurboFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+// 컴포넌트들이 LongAdder 로 세고 있는 값을 /actuator/prometheus 에 내보낸다.
+// 요청 경로에서는 LongAdder 만 올리고, 미터는 스크레이프할 때 getter 를 읽는다.
+// HikariCP 풀 사용량과 커넥션 대기 시간(hikaricp.connections.*)은 actuator 가 자동으로 등록한다.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    MeterBinder passwordHasherMetrics(PasswordHasher passwordHasher) {
+        return registry -> {
+            FunctionTimer.builder("auth.bcrypt", passwordHasher,
+                            PasswordHasher::getCompletedTasks, PasswordHasher::getHashNanos, TimeUnit.NANOSECONDS)
+                    .description("BCrypt encode/match time on the hashing pool")
+                    .register(registry);
+            FunctionCounter.builder("auth.bcrypt.rejected", passwordHasher, PasswordHasher::getRejectedTasks)
+                    .description("BCrypt tasks rejected because the queue was full")
+                    .register(registry);
+            Gauge.builder("auth.bcrypt.active", passwordHasher, PasswordHasher::getActiveThreads)
+                    .register(registry);
+            Gauge.builder("auth.bcrypt.queued", passwordHasher, PasswordHasher::getQueueDepth)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    MeterBinder authenticationMetrics(JwtVerifier jwtVerifier, MemberPrincipalCache memberPrincipalCache) {
+        return registry -> {
+            // 캐시에 없던 토큰의 서명 검증 시간
+            FunctionTimer.builder("auth.jwt.verify", jwtVerifier,
+                            JwtVerifier::getCacheMisses, JwtVerifier::getVerifyNanos, TimeUnit.NANOSECONDS)
+                    .description("JWT signature verification and parsing")
+                    .register(registry);
+            FunctionCounter.builder("auth.jwt.cache.hits", jwtVerifier, JwtVerifier::getCacheHits)
+                    .register(registry);
+            // JwtAuthenticationFilter 가 회원 스냅샷을 캐시에서 못 찾아 DB 에서 읽은 횟수와 시간
+            FunctionTimer.builder("auth.principal.db.lookups", memberPrincipalCache,
+                            MemberPrincipalCache::getLoads, MemberPrincipalCache::getLoadNanos, TimeUnit.NANOSECONDS)
+                    .description("Member lookups the authentication filter sent to the database")
+                    .register(registry);
+            FunctionCounter.builder("auth.principal.cache.hits", memberPrincipalCache, MemberPrincipalCache::getHits)
+                    .register(registry);
+        };
+    }
+
+    // Member 2차 캐시와 findByUsername/findByNickname 쿼리 캐시. 비율은 재시작 후 누적값이다.
+    @Bean
+    MeterBinder secondLevelCacheMetrics(SecondLevelCacheStatistics statistics) {
+        return registry -> {
+            FunctionCounter.builder("hibernate.l2.cache.hits", statistics, SecondLevelCacheStatistics::getMemberHits)
+                    .tag("region", Member.CACHE_REGION)
+                    .register(registry);
+            FunctionCounter.builder("hibernate.l2.cache.misses", statistics, SecondLevelCacheStatistics::getMemberMisses)
+                    .tag("region", Member.CACHE_REGION)
+                    .register(registry);
+            Gauge.builder("hibernate.l2.cache.hit.ratio", statistics, SecondLevelCacheStatistics::getMemberHitRatio)
+                    .tag("region", Member.CACHE_REGION)
+                    .register(registry);
+            FunctionCounter.builder("hibernate.l2.cache.hits", statistics, SecondLevelCacheStatistics::getMemberLookupHits)
+                    .tag("region", Member.LOOKUP_CACHE_REGION)
+                    .register(registry);
+            FunctionCounter.builder("hibernate.l2.cache.misses", statistics, SecondLevelCacheStatistics::getMemberLookupMisses)
+                    .tag("region", Member.LOOKUP_CACHE_REGION)
+                    .register(registry);
+            Gauge.builder("hibernate.l2.cache.hit.ratio", statistics, SecondLevelCacheStatistics::getMemberLookupHitRatio)
+                    .tag("region", Member.LOOKUP_CACHE_REGION)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    MeterBinder geminiBulkheadMetrics(GeminiBulkhead geminiBulkhead) {
+        return registry -> {
+            Gauge.builder("gemini.bulkhead.in.flight", geminiBulkhead, GeminiBulkhead::getInFlightCalls)
+                    .register(registry);
+            Gauge.builder("gemini.bulkhead.queued", geminiBulkhead, GeminiBulkhead::getQueuedCalls)
+                    .register(registry);
+            FunctionTimer.builder("gemini.bulkhead.wait", geminiBulkhead,
+                            GeminiBulkhead::getAdmittedCalls, GeminiBulkhead::getWaitNanos, TimeUnit.NANOSECONDS)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    MeterBinder chatWriteBehindMetrics(ChatWriteBehindQueue chatWriteBehindQueue) {
+        return registry -> {
+            // rate(chat_inserts_total[1m]) 가 초당 insert 수다.
+            FunctionCounter.builder("chat.inserts", chatWriteBehindQueue, ChatWriteBehindQueue::getInsertedRows)
+                    .description("Chat rows written to the database")
+                    .register(registry);
+            FunctionCounter.builder("chat.write.behind.batches", chatWriteBehindQueue, ChatWriteBehindQueue::getFlushedBatches)
+                    .register(registry);
+            FunctionCounter.builder("chat.write.behind.spilled", chatWriteBehindQueue, ChatWriteBehindQueue::getSpilledRows)
+                    .register(registry);
+            Gauge.builder("chat.write.behind.queued", chatWriteBehindQueue, ChatWriteBehindQueue::getQueueSize)
+                    .register(registry);
+        };
+    }
+
+    // logback-spring.xml 의 샘플링 필터와 비동기 콘솔 appender 가 버린 로그 수.
+    // 로그가 안 보일 때 실제로 안 찍힌 것인지 버려진 것인지 구분할 수 있다.
+    @Bean
+    MeterBinder loggingDropMetrics() {
+        return registry -> {
+            if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext)) {
+                return;
+            }
+            for (TurboFilter turboFilter : loggerContext.getTurboFilterList()) {
+                if (turboFilter instanceof LogSamplingTurboFilter samplingFilter) {
+                    FunctionCounter.builder("logback.sampling.dropped", samplingFilter, LogSamplingTurboFilter::getDropped)
+                            .tag("logger", samplingFilter.getLoggerPrefix())
+                            .description("Log events denied by the sampling/rate-limit filter")
+                            .register(registry);
+                }
+            }
+            Appender<ILoggingEvent> appender = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).getAppender("ASYNC_CONSOLE");
+            if (appender instanceof DropCountingAsyncAppender asyncAppender) {
+                FunctionCounter.builder("logback.async.dropped", asyncAppender, DropCountingAsyncAppender::getDiscarded)
+                        .tag("reason", "threshold")
+                        .description("Log events the async appender dropped")
+                        .register(registry);
+                FunctionCounter.builder("logback.async.dropped", asyncAppender, DropCountingAsyncAppender::getOverflowed)
+                        .tag("reason", "full")
+                        .description("Log events the async appender dropped")
+                        .register(registry);
+                Gauge.builder("logback.async.queued", asyncAppender, DropCountingAsyncAppender::getNumberOfElementsInQueue)
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder signalingMetrics(SignalingHandler signalingHandler, SignalingRelay signalingRelay) {
+        return registry -> {
+            Gauge.builder("signaling.sessions", signalingHandler, SignalingHandler::getSessionCount)
+                    .description("Open signaling WebSocket sessions on this node")
+                    .register(registry);
+            Gauge.builder("signaling.rooms", signalingHandler, SignalingHandler::getRoomCount)
+                    .register(registry);
+            // 메시지 하나를 방의 다른 참가자 송신 큐와 다른 노드로 넘기는 시간. count 의 rate 가 초당 메시지 수다.
+            FunctionTimer.builder("signaling.fan.out", signalingHandler,
+                            SignalingHandler::getRoutedMessages, SignalingHandler::getFanOutNanos, TimeUnit.NANOSECONDS)
+                    .description("Time to fan a signaling message out to room peers")
+                    .register(registry);
+            FunctionTimer.builder("signaling.heartbeat.rtt", signalingHandler,
+                            SignalingHandler::getHeartbeatPongs, SignalingHandler::getHeartbeatRttNanos, TimeUnit.NANOSECONDS)
+                    .register(registry);
+            FunctionCounter.builder("signaling.sessions.evicted", signalingHandler, SignalingHandler::getEvictedSessions)
+                    .tag("reason", "slow")
+                    .register(registry);
+            FunctionCounter.builder("signaling.sessions.evicted", signalingHandler, SignalingHandler::getReapedSessions)
+                    .tag("reason", "idle")
+                    .register(registry);
+            if (signalingRelay instanceof SocketSignalingRelay socketRelay) {
+                FunctionCounter.builder("signaling.relay.dropped", socketRelay, SocketSignalingRelay::getDroppedFrames)
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package org.ll.bugburgerbackend.global.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.ll.bugburgerbackend.domain.member.entity.Member;
+import org.springframework.stereotype.Component;
+
+// Member 2차 캐시와 조회 쿼리 캐시의 적중률을 Hibernate Statistics 에서 읽어 온다.
+// spring.jpa.properties.hibernate.generate_statistics 가 꺼져 있으면 모두 0 이다.
+@Component
+public class SecondLevelCacheStatistics {
+    private final Statistics statistics;
+
+    public SecondLevelCacheStatistics(EntityManagerFactory entityManagerFactory) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        // 쿼리 캐시 region 은 첫 조회 때 만들어진다. 그 전에 통계를 읽으면 Hibernate 가 region 이 없다는 결과를 기억해 두고,
+        // 이후 그 region 을 쓰는 조회가 통계를 남기다 실패한다. 스크레이프가 먼저 와도 괜찮도록 미리 만든다.
+        sessionFactory.getCache().getQueryResultsCache(Member.LOOKUP_CACHE_REGION);
+        this.statistics = sessionFactory.getStatistics();
+    }
+
+    public long getMemberHits() {
+        CacheRegionStatistics region = memberRegion();
+        return region == null ? 0 : region.getHitCount();
+    }
+
+    public long getMemberMisses() {
+        CacheRegionStatistics region = memberRegion();
+        return region == null ? 0 : region.getMissCount();
+    }
+
+    public double getMemberHitRatio() {
+        return hitRatio(getMemberHits(), getMemberMisses());
+    }
+
+    public long getMemberLookupHits() {
+        CacheRegionStatistics region = lookupRegion();
+        return region == null ? 0 : region.getHitCount();
+    }
+
+    public long getMemberLookupMisses() {
+        CacheRegionStatistics region = lookupRegion();
+        return region == null ? 0 : region.getMissCount();
+    }
+
+    public double getMemberLookupHitRatio() {
+        return hitRatio(getMemberLookupHits(), getMemberLookupMisses());
+    }
+
+    private CacheRegionStatistics memberRegion() {
+        return statistics.getDomainDataRegionStatistics(Member.CACHE_REGION);
+    }
+
+    private CacheRegionStatistics lookupRegion() {
+        return statistics.getQueryRegionStatistics(Member.LOOKUP_CACHE_REGION);
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -1,5 +1,6 @@
 package org.ll.bugburgerbackend.global.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.ll.bugburgerbackend.global.filter.JwtAuthenticationFilter;
@@ -37,7 +38,7 @@ public class SecurityConfig {
         ));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList(
-                "Authorization", "Content-Type", "Accept", "Origin", "X-Requested-With"
+                "Authorization", "Content-Type", "Accept", "Origin", "X-Requested-With", "Idempotency-Key"
         ));
         configuration.setExposedHeaders(Arrays.asList(
                 "Authorization", "Content-Type", "refreshToken", "accessToken"
@@ -60,7 +61,11 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // 반드시 추가
+                        // 비동기 응답(CompletableFuture)의 재디스패치는 최초 요청에서 이미 인증을 통과했다
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/v1/members/**").permitAll()
+                        // actuator 는 management.server 의 loopback 포트에서만 열리므로 메트릭 수집기는 토큰 없이 긁어 간다.
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         .anyRequest().authenticated()
                 )
                 .headers(headers ->
@@ -0,0 +1,36 @@
+package org.ll.bugburgerbackend.global.config;
+
+import org.ll.bugburgerbackend.global.handler.relay.LoopbackSignalingRelay;
+import org.ll.bugburgerbackend.global.handler.relay.SignalingRelay;
+import org.ll.bugburgerbackend.global.handler.relay.SocketSignalingRelay;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+// custom.signaling.relay.type 으로 노드 간 시그널링 전송 방식을 고른다.
+// loopback(기본): 단일 인스턴스, socket: blue/green 처럼 여러 인스턴스가 TCP 로 서로 연결
+@Configuration
+public class SignalingRelayConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "custom.signaling.relay.type", havingValue = "loopback", matchIfMissing = true)
+    SignalingRelay loopbackSignalingRelay() {
+        return new LoopbackSignalingRelay("local", new LoopbackSignalingRelay.Hub());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "custom.signaling.relay.type", havingValue = "socket")
+    SignalingRelay socketSignalingRelay(
+            @Value("${custom.signaling.relay.advertisedAddress}") String advertisedAddress,
+            @Value("${custom.signaling.relay.bindAddress}") String bindAddress,
+            @Value("${custom.signaling.relay.port}") int port,
+            @Value("${custom.signaling.relay.secret}") String secret,
+            @Value("${custom.signaling.relay.peers}") List<String> peers,
+            @Value("${custom.signaling.relay.queueCapacity}") int queueCapacity
+    ) {
+        return new SocketSignalingRelay(advertisedAddress, bindAddress, port, secret, peers, queueCapacity);
+    }
+}
@@ -1,25 +1,38 @@
 package org.ll.bugburgerbackend.global.config;
 
+import lombok.RequiredArgsConstructor;
+import org.ll.bugburgerbackend.global.filter.WebSocketExtensionFilter;
 import org.ll.bugburgerbackend.global.handler.SignalingHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
 
 @Configuration
 @EnableWebSocket
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketConfigurer {
+    private static final String SIGNALING_PATH = "/signal";
+
+    private final SignalingHandler signalingHandler;
+
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
-        registry.addHandler(signalingSocketHandler(), "/signal")
+        registry.addHandler(signalingHandler, SIGNALING_PATH)
                 .setAllowedOriginPatterns("*");
     }
 
+    // permessage-deflate 는 클라이언트가 요청하면 컨테이너가 기본으로 켠다.
+    // 압축 CPU 가 아까운 환경에서는 custom.signaling.perMessageDeflate=false 로 끈다.
     @Bean
-    public WebSocketHandler signalingSocketHandler() {
-        return new SignalingHandler();
+    @ConditionalOnProperty(name = "custom.signaling.perMessageDeflate", havingValue = "false")
+    FilterRegistrationBean<WebSocketExtensionFilter> signalingExtensionFilter() {
+        FilterRegistrationBean<WebSocketExtensionFilter> registration =
+                new FilterRegistrationBean<>(new WebSocketExtensionFilter());
+        registration.addUrlPatterns(SIGNALING_PATH);
+        return registration;
     }
 }
-
@@ -3,6 +3,7 @@ package org.ll.bugburgerbackend.global.error;
 
 import lombok.Builder;
 import lombok.Getter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDateTime;
@@ -20,8 +21,13 @@ public class ErrorResponse {
         this.message = message;
     }
     public static ResponseEntity<ErrorResponse> toResponseEntity(ErrorCode errorCode){
+        return toResponseEntity(errorCode, HttpHeaders.EMPTY);
+    }
+
+    public static ResponseEntity<ErrorResponse> toResponseEntity(ErrorCode errorCode, HttpHeaders headers){
         return ResponseEntity
                 .status(errorCode.getHttpStatus())
+                .headers(headers)
                 .body(ErrorResponse.builder()
                         .timestamp(LocalDateTime.now().toString())
                         .error(errorCode.getHttpStatus().name())
@@ -0,0 +1,19 @@
+package org.ll.bugburgerbackend.global.error;
+
+import org.ll.bugburgerbackend.domain.member.service.PasswordHasherBusyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    // 로그인/회원가입이 몰려 BCrypt 대기열이 가득 찬 경우
+    @ExceptionHandler(PasswordHasherBusyException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHasherBusy(PasswordHasherBusyException e) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        return ErrorResponse.toResponseEntity(ErrorCode.SERVER_BUSY, headers);
+    }
+}
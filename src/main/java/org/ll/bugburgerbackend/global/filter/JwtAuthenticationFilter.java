@@ -6,10 +6,11 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.ll.bugburgerbackend.domain.member.entity.Member;
+import org.ll.bugburgerbackend.domain.member.dto.MemberSnapshot;
 import org.ll.bugburgerbackend.domain.member.service.MemberService;
-import org.ll.bugburgerbackend.global.Ut.Ut;
-import org.springframework.beans.factory.annotation.Value;
+import org.ll.bugburgerbackend.global.jwt.JwtVerifier;
+import org.ll.bugburgerbackend.global.timing.Stage;
+import org.ll.bugburgerbackend.global.timing.StageTimer;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,62 +26,48 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    @Value("${custom.jwt.secretKey}")
-    private String jwtSecretKey;
-
     private final MemberService memberService;
+    private final JwtVerifier jwtVerifier;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        log.info("[JwtAuthFilter] START for URI: {}", request.getRequestURI());
+        long authStart = System.nanoTime();
         String token = extractToken(request);
-        log.debug("[JwtAuthFilter] Request URI: {}", request.getRequestURI());
-        log.debug("[JwtAuthFilter] Extracted token: {}", token);
+        log.trace("[JwtAuthFilter] START for URI: {}", request.getRequestURI());
 
         boolean authenticationProblem = false;
         
         if (token != null) {
-            log.debug("[JwtAuthFilter] Token found, attempting validation and authentication.");
             try {
-                if (!Ut.jwt.isValid(jwtSecretKey, token)) {
-                    log.error("[JwtAuthFilter] Invalid JWT token for URI: {}", request.getRequestURI());
+                // 서명 검증과 payload 파싱을 한 번에 처리한다. 최근 검증한 토큰은 캐시에서 바로 돌려받는다.
+                Map<String, Object> payload = jwtVerifier.verify(token);
+
+                if (payload == null) {
+                    log.warn("[JwtAuthFilter] Invalid JWT token for URI: {}", request.getRequestURI());
                     authenticationProblem = true;
                 } else {
-                    log.debug("[JwtAuthFilter] JWT token is valid.");
-                    Map<String, Object> payload = Ut.jwt.payload(jwtSecretKey, token);
-                    
-                    if (payload != null) {
-                        log.debug("[JwtAuthFilter] JWT payload successfully parsed: {}", payload);
-                        Long id = ((Number) payload.get("id")).longValue();
-                        String username = (String) payload.get("username");
-                        log.debug("[JwtAuthFilter] User ID from token: {}, Username from token: {}", id, username);
-                        
-                        Member member = memberService.findById(id)
-                                .orElseThrow(() -> {
-                                    log.error("[JwtAuthFilter] Member not found for id: {} from token.", id);
-                                    return new RuntimeException("Member not found");
-                                });
-                        log.debug("[JwtAuthFilter] Member found from DB: {}", member.getUsername());
-
-                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                                member,
-                                null,
-                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
-                        );
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                        log.info("[JwtAuthFilter] Successfully set Authentication in SecurityContext for user: {}", member.getUsername());
-                    } else {
-                        log.error("[JwtAuthFilter] Failed to parse JWT payload for token: {}", token);
-                        authenticationProblem = true;
-                    }
+                    Long id = ((Number) payload.get("id")).longValue();
+
+                    // 최근 확인한 회원은 DB 를 거치지 않고 캐시된 스냅샷을 principal 로 쓴다.
+                    MemberSnapshot member = memberService.findSnapshotById(id)
+                            .orElseThrow(() -> {
+                                log.error("[JwtAuthFilter] Member not found for id: {} from token.", id);
+                                return new RuntimeException("Member not found");
+                            });
+
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            member,
+                            null,
+                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
+                    );
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    log.debug("[JwtAuthFilter] Authenticated member {}", id);
                 }
             } catch (Exception e) {
                 log.error("[JwtAuthFilter] JWT token validation failed for URI: {}", request.getRequestURI(), e);
                 authenticationProblem = true;
             }
-        } else {
-            log.debug("[JwtAuthFilter] No JWT token found in request to URI: {}", request.getRequestURI());
         }
 
         if (authenticationProblem) {
@@ -90,22 +77,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 현재 코드는 CORS 헤더 등을 적용하기 위해 항상 filterChain.doFilter를 호출합니다.
             // 403 Forbidden은 인증은 되었으나 권한이 없는 경우이므로, 이 로직 이후에 문제가 발생할 가능성이 높습니다.
         }
-        
-        log.debug("[JwtAuthFilter] Proceeding with filter chain. Current SecurityContext Authentication: {}", SecurityContextHolder.getContext().getAuthentication());
+        StageTimer.of(request).stop(Stage.AUTH, authStart);
+
         filterChain.doFilter(request, response);
-        log.info("[JwtAuthFilter] END for URI: {}", request.getRequestURI());
+        log.trace("[JwtAuthFilter] END for URI: {}", request.getRequestURI());
     }
 
     private String extractToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
-        log.debug("[JwtAuthFilter] Authorization header: {}", bearerToken);
-        
+
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-            String token = bearerToken.substring(7);
-            log.debug("[JwtAuthFilter] Extracted token from Bearer: {}", token);
-            return token;
+            return bearerToken.substring(7);
         }
-        log.debug("[JwtAuthFilter] No Bearer token found in Authorization header.");
         return null;
     }
 
@@ -0,0 +1,93 @@
+package org.ll.bugburgerbackend.global.handler;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// trickle ICE 후보 묶기
+// 한 세션이 window 안에 보낸 candidate 메시지를 받는 쪽(to)별로 모았다가 한 번에 내보낸다.
+// 첫 후보가 들어올 때 window 뒤의 flush 를 예약하고, 그 사이에 온 후보는 같은 묶음에 붙는다.
+// 다른 종류의 메시지를 보내거나 방을 옮기기 전에는 flush 해서 보낸 순서를 지킨다.
+class CandidateCoalescer {
+    // 후보가 이만큼 쌓이면 window 를 기다리지 않고 보낸다.
+    static final int MAX_BATCH = 32;
+
+    private final long windowMillis;
+    private final ScheduledExecutorService scheduler;
+    private final Sink sink;
+    private final Map<String, Batch> batches = new ConcurrentHashMap<>();
+
+    CandidateCoalescer(long windowMillis, ScheduledExecutorService scheduler, Sink sink) {
+        this.windowMillis = windowMillis;
+        this.scheduler = scheduler;
+        this.sink = sink;
+    }
+
+    void offer(SignalingSession sender, String room, String to, String payload) {
+        boolean[] created = new boolean[1];
+        Batch batch = batches.compute(sender.id(), (id, current) -> {
+            Batch next = current;
+            if (next == null) {
+                next = new Batch(sender, room);
+                created[0] = true;
+            }
+            next.add(to, payload);
+            return next;
+        });
+
+        if (batch.size >= MAX_BATCH) {
+            flush(batch);
+        } else if (created[0]) {
+            scheduler.schedule(() -> flush(batch), windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void flush(SignalingSession sender) {
+        Batch batch = batches.get(sender.id());
+        if (batch != null) {
+            flush(batch);
+        }
+    }
+
+    void discard(SignalingSession sender) {
+        batches.remove(sender.id());
+    }
+
+    // remove 에 성공한 쪽만 보낸다. 이후에 들어온 후보는 새 묶음으로 간다.
+    private void flush(Batch batch) {
+        if (!batches.remove(batch.sender.id(), batch)) {
+            return;
+        }
+        for (Map.Entry<String, List<String>> group : batch.byRecipient.entrySet()) {
+            sink.emit(batch.sender, batch.room, group.getKey(), group.getValue());
+        }
+    }
+
+    @FunctionalInterface
+    interface Sink {
+        void emit(SignalingSession sender, String room, String to, List<String> candidates);
+    }
+
+    // compute 안에서만 바뀌고, map 에서 빠진 뒤에는 읽기만 한다.
+    private static class Batch {
+        private final SignalingSession sender;
+        private final String room;
+        // to 가 없는 후보는 null 키로 모은다.
+        private final Map<String, List<String>> byRecipient = new LinkedHashMap<>();
+        private int size;
+
+        Batch(SignalingSession sender, String room) {
+            this.sender = sender;
+            this.room = room;
+        }
+
+        void add(String to, String payload) {
+            byRecipient.computeIfAbsent(to, key -> new ArrayList<>()).add(payload);
+            size++;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.ll.bugburgerbackend.global.handler;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+// 시그널링 메시지의 JSON <-> CBOR 변환
+// 서버 안에서는 메시지를 JSON 문자열로 다루고, CBOR 서브프로토콜로 접속한 세션과 주고받을 때만 바꾼다.
+// 트리로 읽지 않고 토큰을 그대로 복사하므로 sdp 같은 긴 문자열도 한 번씩만 복사된다.
+class SignalingCodec {
+    private final JsonFactory jsonFactory;
+    private final CBORFactory cborFactory = new CBORFactory();
+
+    SignalingCodec(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    byte[] toCbor(String json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length());
+        try (JsonParser parser = jsonFactory.createParser(json);
+             JsonGenerator generator = cborFactory.createGenerator(out)) {
+            copy(parser, generator);
+        } catch (IOException e) {
+            // 서버가 만들었거나 이미 한 번 파싱한 JSON 이므로 실제로는 일어나지 않는다.
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    String toJson(ByteBuffer cbor) throws IOException {
+        byte[] bytes = new byte[cbor.remaining()];
+        cbor.get(bytes);
+
+        StringWriter out = new StringWriter(bytes.length * 2);
+        try (JsonParser parser = cborFactory.createParser(bytes);
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            copy(parser, generator);
+        }
+        return out.toString();
+    }
+
+    private static void copy(JsonParser parser, JsonGenerator generator) throws IOException {
+        if (parser.nextToken() != null) {
+            generator.copyCurrentStructure(parser);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.ll.bugburgerbackend.global.handler;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 다른 노드에 붙어 있는 세션의 위치. 방 id → (세션 id → 노드 id)
+// 다른 노드가 보내 온 JOIN/LEAVE 프레임으로만 갱신되고, 로컬 세션은 SignalingRooms 가 관리한다.
+class SignalingDirectory {
+    private final Map<String, Map<String, String>> nodeBySessionByRoom = new ConcurrentHashMap<>();
+    private final Map<String, String> roomBySession = new ConcurrentHashMap<>();
+
+    void add(String room, String session, String node) {
+        String previous = roomBySession.put(session, room);
+        if (previous != null && !previous.equals(room)) {
+            removeFromRoom(previous, session);
+        }
+        nodeBySessionByRoom.computeIfAbsent(room, id -> new ConcurrentHashMap<>()).put(session, node);
+    }
+
+    boolean remove(String room, String session) {
+        if (!roomBySession.remove(session, room)) {
+            return false;
+        }
+        removeFromRoom(room, session);
+        return true;
+    }
+
+    // node 가 내려갔을 때 그 노드의 세션을 모두 지우고, 지운 (방, 세션) 목록을 돌려준다.
+    List<Member> removeNode(String node) {
+        List<Member> removed = new ArrayList<>();
+        nodeBySessionByRoom.forEach((room, sessions) -> sessions.forEach((session, owner) -> {
+            if (owner.equals(node) && remove(room, session)) {
+                removed.add(new Member(room, session));
+            }
+        }));
+        return removed;
+    }
+
+    String nodeOf(String room, String session) {
+        Map<String, String> sessions = nodeBySessionByRoom.get(room);
+        return sessions == null ? null : sessions.get(session);
+    }
+
+    // 방 참가자가 있는 다른 노드들. 메시지는 이 노드들로만 보낸다.
+    Set<String> nodesOf(String room) {
+        Map<String, String> sessions = nodeBySessionByRoom.get(room);
+        return sessions == null ? Set.of() : new HashSet<>(sessions.values());
+    }
+
+    Set<String> sessionsOf(String room) {
+        Map<String, String> sessions = nodeBySessionByRoom.get(room);
+        return sessions == null ? Set.of() : sessions.keySet();
+    }
+
+    int sizeOf(String room) {
+        Map<String, String> sessions = nodeBySessionByRoom.get(room);
+        return sessions == null ? 0 : sessions.size();
+    }
+
+    private void removeFromRoom(String room, String session) {
+        nodeBySessionByRoom.computeIfPresent(room, (id, sessions) -> {
+            sessions.remove(session);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    record Member(String room, String session) {
+    }
+}
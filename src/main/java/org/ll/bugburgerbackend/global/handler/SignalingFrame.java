@@ -0,0 +1,43 @@
+package org.ll.bugburgerbackend.global.handler;
+
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+// 여러 세션에 보내는 메시지 하나
+// 방 안의 CBOR 세션이 몇 개든 인코딩은 처음 한 번만 한다.
+// BinaryMessage 의 ByteBuffer 는 전송하면서 position 이 움직이므로 세션마다 새로 감싼다.
+class SignalingFrame {
+    private final String json;
+    private final SignalingCodec codec;
+    private volatile TextMessage text;
+    private volatile byte[] cbor;
+
+    SignalingFrame(String json, SignalingCodec codec) {
+        this.json = json;
+        this.codec = codec;
+    }
+
+    String json() {
+        return json;
+    }
+
+    // 경쟁이 나도 같은 값을 한 번 더 만들 뿐이라 잠그지 않는다.
+    WebSocketMessage<?> encode(boolean binary) {
+        if (binary) {
+            byte[] encoded = cbor;
+            if (encoded == null) {
+                encoded = codec.toCbor(json);
+                cbor = encoded;
+            }
+            return new BinaryMessage(encoded);
+        }
+
+        TextMessage encoded = text;
+        if (encoded == null) {
+            encoded = new TextMessage(json);
+            text = encoded;
+        }
+        return encoded;
+    }
+}
@@ -1,34 +1,525 @@
 package org.ll.bugburgerbackend.global.handler;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.ll.bugburgerbackend.global.handler.relay.RelayFrame;
+import org.ll.bugburgerbackend.global.handler.relay.SignalingRelay;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
-public class SignalingHandler extends TextWebSocketHandler {
-    private final List<WebSocketSession> sessions = new CopyOnWriteArrayList<>();
+// WebRTC 시그널링. 클라이언트는 먼저 {"type":"join","room":"<방 id>"} 로 방에 들어가고,
+// 이후 보내는 offer/answer/candidate 는 같은 방의 다른 참가자에게만 그대로 전달된다.
+// 메시지에 "to" 가 있으면 같은 방의 해당 세션에만 보낸다.
+//
+// 서버가 보내는 메시지
+//   {"type":"joined","room":..,"self":..,"peers":[..]}  입장 완료, 이미 있던 참가자 목록
+//   {"type":"peer-joined","peer":..} / {"type":"peer-left","peer":..}
+//   {"type":"candidates","to":..,"items":[..]}  짧은 시간 안에 온 candidate 메시지 묶음, items 는 원래 메시지 그대로
+//   {"type":"error","message":..}
+//
+// 서브프로토콜 signaling.cbor 로 접속하면 같은 메시지를 JSON 대신 CBOR 바이너리 프레임으로 주고받는다.
+// 지정하지 않거나 signaling.json 이면 텍스트 프레임이다.
+//
+// 전송은 세션마다 SignalingSession 의 송신 큐를 거친다. 보내는 쪽 스레드는 막히지 않고, 느린 세션은 끊는다.
+// heartbeat.interval 동안 아무것도 받지 못한 세션에는 ping 을 보내고, idleTimeout 을 넘기면 연결을 정리한다.
+//
+// 인스턴스가 여러 개면 입장/퇴장을 SignalingRelay 로 모든 노드에 알리고, 각 노드는 SignalingDirectory 에
+// 다른 노드 참가자의 위치를 기록한다. 메시지는 같은 방 참가자가 있는 노드로만 전달한다.
+@Slf4j
+@Component
+public class SignalingHandler extends AbstractWebSocketHandler implements SubProtocolCapable {
+    public static final String JSON_PROTOCOL = "signaling.json";
+    public static final String CBOR_PROTOCOL = "signaling.cbor";
+    private static final CloseStatus IDLE_TIMEOUT = CloseStatus.GOING_AWAY.withReason("idle timeout");
+
+    private final JsonFactory jsonFactory;
+    private final SignalingCodec codec;
+    private final SignalingRooms rooms;
+    private final SignalingDirectory directory = new SignalingDirectory();
+    private final SignalingRelay relay;
+    private final Map<String, SignalingSession> sessions = new ConcurrentHashMap<>();
+    private final ExecutorService sendExecutor;
+    private final ScheduledExecutorService timerScheduler;
+    private final TimingWheel heartbeats;
+    // candidateBatchWindowMillis 가 0 이면 null, 묶지 않고 바로 보낸다.
+    private final CandidateCoalescer candidates;
+    private final long sendTimeLimitNanos;
+    private final int bufferSizeLimit;
+    private final long heartbeatIntervalNanos;
+    private final long idleTimeoutNanos;
+
+    private final LongAdder evictedSessions = new LongAdder();
+    private final LongAdder reapedSessions = new LongAdder();
+    private final LongAdder heartbeatPongs = new LongAdder();
+    private final LongAdder heartbeatRttNanos = new LongAdder();
+    private final LongAdder routedMessages = new LongAdder();
+    private final LongAdder fanOutNanos = new LongAdder();
+
+    public SignalingHandler(
+            ObjectMapper objectMapper,
+            SignalingRelay relay,
+            @Value("${custom.signaling.maxRoomSize}") int maxRoomSize,
+            @Value("${custom.signaling.sendTimeLimitMillis}") long sendTimeLimitMillis,
+            @Value("${custom.signaling.bufferSizeLimitBytes}") int bufferSizeLimit,
+            @Value("${custom.signaling.candidateBatchWindowMillis}") long candidateBatchWindowMillis,
+            @Value("${custom.signaling.heartbeat.intervalMillis}") long heartbeatIntervalMillis,
+            @Value("${custom.signaling.heartbeat.idleTimeoutMillis}") long idleTimeoutMillis,
+            @Value("${custom.signaling.heartbeat.tickMillis}") long tickMillis,
+            @Value("${custom.signaling.heartbeat.wheelSize}") int wheelSize,
+            @Value("${spring.threads.virtual.enabled}") boolean virtualThreads
+    ) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.codec = new SignalingCodec(jsonFactory);
+        this.rooms = new SignalingRooms(maxRoomSize);
+        this.relay = relay;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMillis);
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.heartbeatIntervalNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMillis);
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        // 막힌 전송은 스레드 하나를 붙잡고 있으므로 고정 크기 풀 대신 필요한 만큼 만든다.
+        this.sendExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("signaling-send-", 0).factory())
+                : Executors.newCachedThreadPool(namedDaemonThreads("signaling-send-"));
+        this.timerScheduler = Executors.newSingleThreadScheduledExecutor(namedDaemonThreads("signaling-timer-"));
+        this.heartbeats = new TimingWheel(tickMillis, wheelSize);
+        this.candidates = candidateBatchWindowMillis > 0
+                ? new CandidateCoalescer(candidateBatchWindowMillis, timerScheduler, this::emitCandidates)
+                : null;
+    }
+
+    @PostConstruct
+    void start() {
+        heartbeats.start(timerScheduler);
+        relay.start(new RelayListener());
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
-        sessions.add(session);
+        SignalingSession signalingSession = new SignalingSession(
+                session, sendExecutor, sendTimeLimitNanos, bufferSizeLimit, this::onEvicted);
+        sessions.put(session.getId(), signalingSession);
+        heartbeats.schedule(now -> heartbeat(signalingSession, now), heartbeatIntervalNanos);
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
-        sessions.remove(session);
+        // 축출된 세션도 여기서 지운다. 축출 때 이미 방에서 나갔어도 그 뒤에 끼어든 입장이 있을 수 있으므로 항상 leave 한다.
+        // (이미 나간 세션이면 rooms.leave 가 null 을 돌려주고 아무것도 하지 않는다)
+        SignalingSession closed = sessions.remove(session.getId());
+        if (closed != null) {
+            leave(closed);
+        }
+    }
+
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(JSON_PROTOCOL, CBOR_PROTOCOL);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession webSocketSession, TextMessage message) throws Exception {
+        SignalingSession session = sessions.get(webSocketSession.getId());
+        if (session != null) {
+            session.touch();
+            handle(session, message.getPayload());
+        }
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession webSocketSession, BinaryMessage message) throws Exception {
+        SignalingSession session = sessions.get(webSocketSession.getId());
+        if (session == null) {
+            return;
+        }
+        session.touch();
+
+        String payload;
+        try {
+            payload = codec.toJson(message.getPayload());
+        } catch (JsonProcessingException e) {
+            session.send(error("malformed message"));
+            return;
+        }
+        handle(session, payload);
     }
 
     @Override
-    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
-        // 받은 메시지를 모든 다른 세션에 브로드캐스트 (간단한 1:1 예시)
-        for (WebSocketSession s : sessions) {
-            if (!s.getId().equals(session.getId())) {
-                s.sendMessage(message);
+    protected void handlePongMessage(WebSocketSession webSocketSession, PongMessage message) {
+        SignalingSession session = sessions.get(webSocketSession.getId());
+        if (session == null) {
+            return;
+        }
+        session.touch();
+
+        // 우리가 보낸 ping 의 payload(보낸 시각) 를 그대로 돌려받는다. 모양이 다르면 RTT 는 건너뛴다.
+        ByteBuffer payload = message.getPayload();
+        if (payload.remaining() == Long.BYTES) {
+            long rtt = System.nanoTime() - payload.getLong(payload.position());
+            if (rtt >= 0) {
+                heartbeatPongs.increment();
+                heartbeatRttNanos.add(rtt);
             }
         }
     }
-}
 
+    // 타이머 스레드에서 세션마다 주기적으로 불린다. 다음 실행까지 남은 시간, 휠에서 뺄 때는 -1 을 돌려준다.
+    private long heartbeat(SignalingSession session, long now) {
+        if (!session.isOpen()) {
+            return -1;
+        }
+
+        long idle = now - session.getLastSeenNanos();
+        if (idle >= idleTimeoutNanos) {
+            log.debug("Reaping idle signaling session {}", session.id());
+            session.evict(IDLE_TIMEOUT);
+            return -1;
+        }
+        if (idle >= heartbeatIntervalNanos) {
+            session.ping(now);
+        }
+        return Math.min(heartbeatIntervalNanos, idleTimeoutNanos - idle);
+    }
+
+    private void handle(SignalingSession session, String payload) throws IOException {
+        Envelope envelope;
+        try {
+            envelope = readEnvelope(payload);
+        } catch (JsonProcessingException e) {
+            session.send(error("malformed message"));
+            return;
+        }
+
+        if ("join".equals(envelope.type())) {
+            join(session, envelope.room());
+            return;
+        }
+        if ("leave".equals(envelope.type())) {
+            leave(session);
+            return;
+        }
+
+        String room = rooms.roomOf(session);
+        if (room == null) {
+            session.send(error("join a room first"));
+            return;
+        }
+
+        if (candidates != null) {
+            if ("candidate".equals(envelope.type())) {
+                candidates.offer(session, room, envelope.to(), payload);
+                return;
+            }
+            // 먼저 보낸 후보가 뒤에 보낸 메시지보다 늦게 도착하지 않도록 한다.
+            candidates.flush(session);
+        }
+        route(session, room, envelope.to(), new SignalingFrame(payload, codec));
+    }
+
+    // 걸린 시간은 송신 큐에 넣고 다른 노드로 넘기기까지다. 실제 소켓 쓰기는 송신 스레드에서 따로 일어난다.
+    private void route(SignalingSession sender, String room, String to, SignalingFrame frame) {
+        long start = System.nanoTime();
+        for (SignalingSession peer : rooms.peersOf(room, sender)) {
+            if (to == null || to.equals(peer.id())) {
+                peer.send(frame);
+            }
+        }
+        forwardToNodes(room, sender.id(), to, frame.json());
+        routedMessages.increment();
+        fanOutNanos.add(System.nanoTime() - start);
+    }
+
+    // 묶는 동안 방을 옮겼으면 버린다. (join/leave 에서 이미 discard 했지만 flush 와 경쟁할 수 있다)
+    private void emitCandidates(SignalingSession sender, String room, String to, List<String> items) {
+        if (!room.equals(rooms.roomOf(sender))) {
+            return;
+        }
+        route(sender, room, to, write(generator -> {
+            generator.writeStringField("type", "candidates");
+            if (to != null) {
+                generator.writeStringField("to", to);
+            }
+            generator.writeArrayFieldStart("items");
+            for (String item : items) {
+                generator.writeRawValue(item);
+            }
+            generator.writeEndArray();
+        }));
+    }
+
+    // 다른 노드의 참가자에게는 그 참가자가 붙어 있는 노드로만 보낸다.
+    private void forwardToNodes(String room, String from, String to, String payload) {
+        if (to != null) {
+            String node = directory.nodeOf(room, to);
+            if (node != null) {
+                relay.send(node, RelayFrame.message(relay.nodeId(), room, from, to, payload));
+            }
+            return;
+        }
+
+        Set<String> nodes = directory.nodesOf(room);
+        if (nodes.isEmpty()) {
+            return;
+        }
+        RelayFrame frame = RelayFrame.message(relay.nodeId(), room, from, null, payload);
+        for (String node : nodes) {
+            relay.send(node, frame);
+        }
+    }
+
+    private void join(SignalingSession session, String room) {
+        if (room == null || room.isBlank()) {
+            session.send(error("room is required"));
+            return;
+        }
+
+        discardCandidates(session);
+        String previous = rooms.roomOf(session);
+        boolean joined = rooms.join(room, session, directory.sizeOf(room));
+        // 다른 방에 있었다면 입장 성공 여부와 관계없이 이미 그 방에서 나왔다.
+        if (previous != null && !previous.equals(room)) {
+            notifyPeers(rooms.peersOf(previous, session), "peer-left", session.id());
+            relay.broadcast(RelayFrame.leave(relay.nodeId(), previous, session.id()));
+        }
+        if (!joined) {
+            session.send(error("room is full"));
+            return;
+        }
+
+        List<String> peers = new ArrayList<>(directory.sessionsOf(room));
+        for (SignalingSession peer : rooms.peersOf(room, session)) {
+            peers.add(peer.id());
+        }
+        session.send(joined(room, session, peers));
+        notifyPeers(rooms.peersOf(room, session), "peer-joined", session.id());
+        relay.broadcast(RelayFrame.join(relay.nodeId(), room, session.id()));
+    }
+
+    private void leave(SignalingSession session) {
+        discardCandidates(session);
+        String room = rooms.leave(session);
+        if (room != null) {
+            notifyPeers(rooms.peersOf(room, session), "peer-left", session.id());
+            relay.broadcast(RelayFrame.leave(relay.nodeId(), room, session.id()));
+        }
+    }
+
+    private void discardCandidates(SignalingSession session) {
+        if (candidates != null) {
+            candidates.discard(session);
+        }
+    }
+
+    private void onEvicted(SignalingSession session, CloseStatus status) {
+        if (IDLE_TIMEOUT.equals(status)) {
+            reapedSessions.increment();
+        } else {
+            evictedSessions.increment();
+        }
+        // sessions 에서는 afterConnectionClosed 가 지운다. 닫힌 세션의 입장은 SignalingRooms.join 이 거절한다.
+        leave(session);
+    }
+
+    private void notifyPeers(Collection<SignalingSession> recipients, String type, String peerId) {
+        if (recipients.isEmpty()) {
+            return;
+        }
+
+        SignalingFrame notice = write(generator -> {
+            generator.writeStringField("type", type);
+            generator.writeStringField("peer", peerId);
+        });
+        for (SignalingSession recipient : recipients) {
+            recipient.send(notice);
+        }
+    }
+
+    private SignalingFrame joined(String room, SignalingSession session, List<String> peers) {
+        return write(generator -> {
+            generator.writeStringField("type", "joined");
+            generator.writeStringField("room", room);
+            generator.writeStringField("self", session.id());
+            generator.writeArrayFieldStart("peers");
+            for (String peer : peers) {
+                generator.writeString(peer);
+            }
+            generator.writeEndArray();
+        });
+    }
+
+    private SignalingFrame error(String reason) {
+        return write(generator -> {
+            generator.writeStringField("type", "error");
+            generator.writeStringField("message", reason);
+        });
+    }
+
+    private SignalingFrame write(Fields fields) {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.writeStartObject();
+            fields.writeTo(generator);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            // StringWriter 에 쓰므로 실제로는 일어나지 않는다.
+            throw new UncheckedIOException(e);
+        }
+        return new SignalingFrame(out.toString(), codec);
+    }
+
+    // 라우팅에 필요한 최상위 필드만 읽는다. sdp/candidate 같은 나머지 값은 파싱하지 않고 건너뛴다.
+    private Envelope readEnvelope(String payload) throws IOException {
+        String type = null;
+        String room = null;
+        String to = null;
+
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new Envelope(null, null, null);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_STRING) {
+                    switch (name) {
+                        case "type" -> type = parser.getText();
+                        case "room" -> room = parser.getText();
+                        case "to" -> to = parser.getText();
+                        default -> {
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return new Envelope(type, room, to);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timerScheduler.shutdownNow();
+        sendExecutor.shutdown();
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public int getRoomCount() {
+        return rooms.roomCount();
+    }
+
+    public long getEvictedSessions() {
+        return evictedSessions.sum();
+    }
+
+    public long getReapedSessions() {
+        return reapedSessions.sum();
+    }
+
+    public long getHeartbeatPongs() {
+        return heartbeatPongs.sum();
+    }
+
+    public long getHeartbeatRttNanos() {
+        return heartbeatRttNanos.sum();
+    }
+
+    public long getRoutedMessages() {
+        return routedMessages.sum();
+    }
+
+    public long getFanOutNanos() {
+        return fanOutNanos.sum();
+    }
+
+    private static ThreadFactory namedDaemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // 다른 노드에서 온 입장/퇴장/메시지를 이 노드의 참가자에게 반영한다.
+    private class RelayListener implements SignalingRelay.Listener {
+        @Override
+        public void onNodeUp(String node) {
+            rooms.forEachMember((room, session) ->
+                    relay.send(node, RelayFrame.join(relay.nodeId(), room, session.id())));
+        }
+
+        @Override
+        public void onFrame(RelayFrame frame) {
+            switch (frame.type()) {
+                case JOIN -> {
+                    directory.add(frame.room(), frame.session(), frame.node());
+                    notifyPeers(rooms.membersOf(frame.room()), "peer-joined", frame.session());
+                }
+                case LEAVE -> {
+                    if (directory.remove(frame.room(), frame.session())) {
+                        notifyPeers(rooms.membersOf(frame.room()), "peer-left", frame.session());
+                    }
+                }
+                case MESSAGE -> {
+                    SignalingFrame message = new SignalingFrame(frame.payload(), codec);
+                    for (SignalingSession member : rooms.membersOf(frame.room())) {
+                        if (frame.to() == null || frame.to().equals(member.id())) {
+                            member.send(message);
+                        }
+                    }
+                }
+                case HELLO -> {
+                }
+            }
+        }
+
+        @Override
+        public void onNodeDown(String node) {
+            for (SignalingDirectory.Member member : directory.removeNode(node)) {
+                notifyPeers(rooms.membersOf(member.room()), "peer-left", member.session());
+            }
+        }
+    }
+
+    private record Envelope(String type, String room, String to) {
+    }
+
+    @FunctionalInterface
+    private interface Fields {
+        void writeTo(JsonGenerator generator) throws IOException;
+    }
+}
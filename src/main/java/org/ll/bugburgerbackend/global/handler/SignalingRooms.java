@@ -0,0 +1,100 @@
+package org.ll.bugburgerbackend.global.handler;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+// 방 id → 참가 세션 집합
+// 입장/퇴장은 ConcurrentHashMap.compute 안에서 처리하므로, 마지막 참가자가 나가며 방을 지우는 것과
+// 새 참가자가 들어오는 것이 겹쳐도 참가자가 지워진 집합에 들어가는 일이 없다.
+class SignalingRooms {
+    private final Map<String, Set<SignalingSession>> members = new ConcurrentHashMap<>();
+    private final Map<String, String> roomBySession = new ConcurrentHashMap<>();
+    private final int maxRoomSize;
+
+    SignalingRooms(int maxRoomSize) {
+        this.maxRoomSize = maxRoomSize;
+    }
+
+    // 다른 노드 참가자(remoteMembers)까지 합쳐 방이 가득 찼거나 세션이 이미 닫혔으면 false. 다른 방에 있었다면 먼저 그 방에서 나간다.
+    //
+    // 축출(evict)은 닫힘 표시를 한 뒤 leave 를 부른다. 입장이 그 사이에 끼어들어도 세션이 방에 남지 않도록
+    // compute 안에서 열려 있는지 보고, 넣은 뒤에 다시 확인해 그새 닫혔으면 직접 나간다.
+    // 축출 쪽 leave 와 여기의 leave 중 roomBySession 을 먼저 지운 쪽만 실제로 나간다.
+    boolean join(String room, SignalingSession session, int remoteMembers) {
+        String previous = roomBySession.get(session.id());
+        if (room.equals(previous)) {
+            return true;
+        }
+        if (previous != null) {
+            leave(session);
+        }
+
+        boolean[] joined = {false};
+        members.compute(room, (id, sessions) -> {
+            if (sessions == null) {
+                sessions = ConcurrentHashMap.newKeySet();
+            }
+            if (session.isOpen() && sessions.size() + remoteMembers < maxRoomSize) {
+                joined[0] = sessions.add(session);
+                if (joined[0]) {
+                    roomBySession.put(session.id(), room);
+                }
+            }
+            // 닫힌 세션 때문에 새로 만든 빈 방은 남기지 않는다.
+            return sessions.isEmpty() ? null : sessions;
+        });
+
+        if (joined[0] && !session.isOpen()) {
+            leave(session);
+            return false;
+        }
+        return joined[0];
+    }
+
+    // 나간 방 id, 어느 방에도 없었으면 null
+    String leave(SignalingSession session) {
+        String room = roomBySession.remove(session.id());
+        if (room == null) {
+            return null;
+        }
+
+        members.computeIfPresent(room, (id, sessions) -> {
+            sessions.remove(session);
+            return sessions.isEmpty() ? null : sessions;
+        });
+        return room;
+    }
+
+    String roomOf(SignalingSession session) {
+        return roomBySession.get(session.id());
+    }
+
+    // 같은 방의 다른 참가자들. 방 크기만큼만 순회한다.
+    List<SignalingSession> peersOf(String room, SignalingSession session) {
+        Set<SignalingSession> sessions = members.get(room);
+        if (sessions == null) {
+            return List.of();
+        }
+        return sessions.stream()
+                .filter(peer -> !peer.id().equals(session.id()))
+                .toList();
+    }
+
+    // 다른 노드에서 온 메시지를 받을 이 노드의 참가자들
+    Collection<SignalingSession> membersOf(String room) {
+        Set<SignalingSession> sessions = members.get(room);
+        return sessions == null ? List.of() : sessions;
+    }
+
+    void forEachMember(BiConsumer<String, SignalingSession> action) {
+        members.forEach((room, sessions) -> sessions.forEach(session -> action.accept(room, session)));
+    }
+
+    int roomCount() {
+        return members.size();
+    }
+}
@@ -0,0 +1,151 @@
+package org.ll.bugburgerbackend.global.handler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+// 세션 하나의 송신 큐
+// send 는 큐에 넣고 바로 돌아오며, 실제 전송은 executor 에서 세션마다 한 번에 하나씩 순서대로 일어난다.
+// 느린 브라우저 때문에 전송이 막혀도 그 세션의 작업만 기다리고, 다른 세션으로의 전송이나 보낸 쪽 스레드는 막히지 않는다.
+// 전송 하나가 sendTimeLimit 을 넘기거나 쌓인 바이트가 bufferSizeLimit 을 넘으면 느린 소비자로 보고 연결을 끊는다.
+// CBOR 서브프로토콜로 접속한 세션에는 바이너리 프레임으로 보낸다.
+// 마지막으로 무언가(메시지, pong) 를 받은 시각을 기록해 두고, 하트비트가 이를 보고 ping 을 보내거나 연결을 정리한다.
+@Slf4j
+class SignalingSession {
+    private final WebSocketSession session;
+    private final Executor executor;
+    private final long sendTimeLimitNanos;
+    private final int bufferSizeLimit;
+    private final BiConsumer<SignalingSession, CloseStatus> onEvicted;
+    private final boolean binary;
+
+    private final Queue<WebSocketMessage<?>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferedBytes = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean evicted = new AtomicBoolean();
+    // 진행 중인 전송의 시작 시각, 없으면 0
+    private volatile long sendStartNanos;
+    private volatile long lastSeenNanos = System.nanoTime();
+
+    SignalingSession(WebSocketSession session, Executor executor, long sendTimeLimitNanos, int bufferSizeLimit,
+                     BiConsumer<SignalingSession, CloseStatus> onEvicted) {
+        this.session = session;
+        this.executor = executor;
+        this.sendTimeLimitNanos = sendTimeLimitNanos;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.onEvicted = onEvicted;
+        this.binary = SignalingHandler.CBOR_PROTOCOL.equals(session.getAcceptedProtocol());
+    }
+
+    String id() {
+        return session.getId();
+    }
+
+    boolean isOpen() {
+        return !evicted.get() && session.isOpen();
+    }
+
+    void touch() {
+        lastSeenNanos = System.nanoTime();
+    }
+
+    long getLastSeenNanos() {
+        return lastSeenNanos;
+    }
+
+    void send(SignalingFrame frame) {
+        enqueue(frame.encode(binary));
+    }
+
+    // 보낸 시각을 payload 에 담아 pong 으로 돌아오면 왕복 시간을 잰다.
+    void ping(long nowNanos) {
+        enqueue(new PingMessage(ByteBuffer.allocate(Long.BYTES).putLong(0, nowNanos)));
+    }
+
+    private void enqueue(WebSocketMessage<?> message) {
+        if (!isOpen()) {
+            return;
+        }
+
+        int size = message.getPayloadLength();
+        if (isSlow(size)) {
+            log.warn("Evicting slow signaling session {}: buffered={} bytes", id(), bufferedBytes.get());
+            evict(CloseStatus.SESSION_NOT_RELIABLE);
+            return;
+        }
+
+        bufferedBytes.addAndGet(size);
+        pending.offer(message);
+        scheduleDrain();
+    }
+
+    private boolean isSlow(int size) {
+        long start = sendStartNanos;
+        if (start != 0 && System.nanoTime() - start > sendTimeLimitNanos) {
+            return true;
+        }
+        return bufferedBytes.get() + size > bufferSizeLimit;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            WebSocketMessage<?> message;
+            while (!evicted.get() && (message = pending.poll()) != null) {
+                bufferedBytes.addAndGet(-message.getPayloadLength());
+                sendStartNanos = System.nanoTime();
+                try {
+                    session.sendMessage(message);
+                } finally {
+                    sendStartNanos = 0;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Failed to send signaling message to session {}", id(), e);
+            evict(CloseStatus.SESSION_NOT_RELIABLE);
+        } finally {
+            draining.set(false);
+            // 내려놓는 사이에 들어온 메시지가 있으면 다시 잡는다.
+            if (!evicted.get() && !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    void evict(CloseStatus status) {
+        if (!evicted.compareAndSet(false, true)) {
+            return;
+        }
+        pending.clear();
+        bufferedBytes.set(0);
+        onEvicted.accept(this, status);
+        // 막혀 있는 전송이 close 를 붙잡을 수 있으므로 호출 스레드에서 닫지 않는다.
+        executor.execute(() -> {
+            try {
+                session.close(status);
+            } catch (IOException e) {
+                log.debug("Failed to close signaling session {}", id(), e);
+            }
+        });
+    }
+
+    int getBufferedBytes() {
+        return bufferedBytes.get();
+    }
+}
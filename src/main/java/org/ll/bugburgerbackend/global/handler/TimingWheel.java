@@ -0,0 +1,98 @@
+package org.ll.bugburgerbackend.global.handler;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 해시 타이밍 휠
+// wheelSize 개의 칸을 tick 마다 하나씩 돌며, 그 칸에서 때가 된 작업만 실행한다.
+// 등록은 큐에 넣기만 하고, 취소는 작업이 다음 실행 때 -1 을 돌려주는 식으로 처리하므로 둘 다 O(1) 이다.
+// 세션이 아무리 많아도 한 tick 에 보는 것은 그 칸에 걸린 작업뿐이다.
+// 칸 배열은 타이머 스레드만 만진다.
+@Slf4j
+class TimingWheel {
+    private final long tickNanos;
+    private final Queue<Timeout>[] buckets;
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private int cursor;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int wheelSize) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.buckets = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+    }
+
+    void start(ScheduledExecutorService scheduler) {
+        long tickMillis = TimeUnit.NANOSECONDS.toMillis(tickNanos);
+        scheduler.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void schedule(Task task, long delayNanos) {
+        Timeout timeout = new Timeout(task);
+        timeout.delayNanos = delayNanos;
+        added.offer(timeout);
+    }
+
+    private void tick() {
+        Queue<Timeout> due = buckets[cursor];
+        buckets[cursor] = new ArrayDeque<>();
+
+        Timeout timeout;
+        while ((timeout = added.poll()) != null) {
+            place(timeout, timeout.delayNanos);
+        }
+
+        long now = System.nanoTime();
+        while ((timeout = due.poll()) != null) {
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                buckets[cursor].offer(timeout);
+                continue;
+            }
+
+            long next;
+            try {
+                next = timeout.task.run(now);
+            } catch (RuntimeException e) {
+                // scheduleAtFixedRate 는 예외가 나면 멈추므로 여기서 삼킨다.
+                log.warn("Timing wheel task failed", e);
+                continue;
+            }
+            if (next >= 0) {
+                place(timeout, next);
+            }
+        }
+
+        cursor = (cursor + 1) % buckets.length;
+    }
+
+    // 지금 칸에서 ticks 만큼 뒤의 칸에 넣는다. 한 바퀴를 넘으면 남은 바퀴 수를 센다.
+    private void place(Timeout timeout, long delayNanos) {
+        long ticks = Math.max(1, (delayNanos + tickNanos - 1) / tickNanos);
+        timeout.rounds = (ticks - 1) / buckets.length;
+        buckets[(int) ((cursor + ticks) % buckets.length)].offer(timeout);
+    }
+
+    // 다음 실행까지 남은 시간(ns) 을 돌려준다. 음수면 휠에서 빠진다.
+    @FunctionalInterface
+    interface Task {
+        long run(long nowNanos);
+    }
+
+    private static class Timeout {
+        private final Task task;
+        private long delayNanos;
+        private long rounds;
+
+        Timeout(Task task) {
+            this.task = task;
+        }
+    }
+}
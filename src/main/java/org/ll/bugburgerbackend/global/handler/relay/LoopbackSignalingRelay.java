@@ -0,0 +1,71 @@
+package org.ll.bugburgerbackend.global.handler.relay;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 같은 JVM 안의 노드끼리 Hub 를 통해 프레임을 직접 넘긴다.
+// 단일 인스턴스 배포에서는 Hub 에 자기 자신만 있으므로 아무 것도 보내지 않는다.
+// 테스트에서는 Hub 하나에 노드 여러 개를 붙여 다중 인스턴스를 흉내 낼 수 있다.
+public class LoopbackSignalingRelay implements SignalingRelay {
+    private final String nodeId;
+    private final Hub hub;
+    private volatile Listener listener;
+
+    public LoopbackSignalingRelay(String nodeId, Hub hub) {
+        this.nodeId = nodeId;
+        this.hub = hub;
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void start(Listener listener) {
+        this.listener = listener;
+        hub.register(this);
+    }
+
+    @Override
+    public void broadcast(RelayFrame frame) {
+        hub.nodes.forEach((node, relay) -> {
+            if (!node.equals(nodeId)) {
+                relay.listener.onFrame(frame);
+            }
+        });
+    }
+
+    @Override
+    public void send(String node, RelayFrame frame) {
+        LoopbackSignalingRelay relay = hub.nodes.get(node);
+        if (relay != null && relay != this) {
+            relay.listener.onFrame(frame);
+        }
+    }
+
+    @Override
+    public void close() {
+        hub.unregister(this);
+    }
+
+    public static class Hub {
+        private final Map<String, LoopbackSignalingRelay> nodes = new ConcurrentHashMap<>();
+
+        private void register(LoopbackSignalingRelay relay) {
+            nodes.put(relay.nodeId, relay);
+            nodes.forEach((node, other) -> {
+                if (other != relay) {
+                    other.listener.onNodeUp(relay.nodeId);
+                    relay.listener.onNodeUp(node);
+                }
+            });
+        }
+
+        private void unregister(LoopbackSignalingRelay relay) {
+            if (nodes.remove(relay.nodeId, relay)) {
+                nodes.values().forEach(other -> other.listener.onNodeDown(relay.nodeId));
+            }
+        }
+    }
+}
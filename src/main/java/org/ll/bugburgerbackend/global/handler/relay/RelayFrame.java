@@ -0,0 +1,36 @@
+package org.ll.bugburgerbackend.global.handler.relay;
+
+// 노드 사이에 오가는 시그널링 프레임
+// node 는 보낸 노드 id, session 은 원래 메시지를 보낸(또는 입장/퇴장한) 세션 id 다.
+public record RelayFrame(
+        Type type,
+        String node,
+        String room,
+        String session,
+        String to,
+        String payload
+) {
+    public enum Type {
+        // 연결 직후 보내는 첫 프레임. 받는 쪽은 이걸로 상대 노드 id 를 알고, payload 의 증명으로 인증한다. (RelayHandshake)
+        HELLO,
+        JOIN,
+        LEAVE,
+        MESSAGE
+    }
+
+    public static RelayFrame hello(String node, String proof) {
+        return new RelayFrame(Type.HELLO, node, null, null, null, proof);
+    }
+
+    public static RelayFrame join(String node, String room, String session) {
+        return new RelayFrame(Type.JOIN, node, room, session, null, null);
+    }
+
+    public static RelayFrame leave(String node, String room, String session) {
+        return new RelayFrame(Type.LEAVE, node, room, session, null, null);
+    }
+
+    public static RelayFrame message(String node, String room, String session, String to, String payload) {
+        return new RelayFrame(Type.MESSAGE, node, room, session, to, payload);
+    }
+}
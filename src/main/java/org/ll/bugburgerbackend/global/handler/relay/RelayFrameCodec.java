@@ -0,0 +1,63 @@
+package org.ll.bugburgerbackend.global.handler.relay;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// SocketSignalingRelay 의 프레임 형식: type(1바이트) 뒤에 node, room, session, to, payload 를
+// 각각 길이(int, null 이면 -1) + UTF-8 바이트로 쓴다.
+final class RelayFrameCodec {
+    // SDP 몇 KB 정도가 정상이므로 이보다 큰 필드는 잘못된 스트림으로 본다.
+    private static final int MAX_FIELD_BYTES = 1 << 20;
+    private static final RelayFrame.Type[] TYPES = RelayFrame.Type.values();
+
+    private RelayFrameCodec() {
+    }
+
+    static void write(DataOutputStream out, RelayFrame frame) throws IOException {
+        out.writeByte(frame.type().ordinal());
+        writeString(out, frame.node());
+        writeString(out, frame.room());
+        writeString(out, frame.session());
+        writeString(out, frame.to());
+        writeString(out, frame.payload());
+    }
+
+    static RelayFrame read(DataInputStream in) throws IOException {
+        int type = in.readUnsignedByte();
+        if (type >= TYPES.length) {
+            throw new IOException("Unknown relay frame type: " + type);
+        }
+        return new RelayFrame(
+                TYPES[type],
+                readString(in),
+                readString(in),
+                readString(in),
+                readString(in),
+                readString(in));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > MAX_FIELD_BYTES) {
+            throw new IOException("Relay frame field too large: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
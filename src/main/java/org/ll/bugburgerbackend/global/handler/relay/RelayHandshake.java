@@ -0,0 +1,63 @@
+package org.ll.bugburgerbackend.global.handler.relay;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// 노드 간 연결의 인증. 받는 쪽이 접속 직후 임의의 nonce 를 보내면, 거는 쪽은
+// HMAC-SHA256(secret, nonce + 자기 노드 id) 를 HELLO 의 payload 로 돌려준다.
+// 비밀값 자체는 오가지 않고, 엿본 HELLO 를 다른 연결에 다시 써도 nonce 가 달라 통과하지 못한다.
+final class RelayHandshake {
+    static final int NONCE_BYTES = 32;
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final SecretKeySpec key;
+
+    RelayHandshake(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("Signaling relay secret must be set");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    static byte[] challenge() {
+        byte[] nonce = new byte[NONCE_BYTES];
+        RANDOM.nextBytes(nonce);
+        return nonce;
+    }
+
+    String proof(byte[] nonce, String node) {
+        return Base64.getEncoder().encodeToString(mac(nonce, node));
+    }
+
+    boolean verify(byte[] nonce, RelayFrame hello) {
+        if (hello.type() != RelayFrame.Type.HELLO || hello.node() == null || hello.payload() == null) {
+            return false;
+        }
+        byte[] expected = mac(nonce, hello.node());
+        byte[] actual;
+        try {
+            actual = Base64.getDecoder().decode(hello.payload());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    private byte[] mac(byte[] nonce, String node) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(nonce);
+            return mac.doFinal(node.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            // HmacSHA256 는 모든 JDK 에 있어야 한다.
+            throw new IllegalStateException(e);
+        }
+    }
+}
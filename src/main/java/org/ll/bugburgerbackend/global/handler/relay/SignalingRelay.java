@@ -0,0 +1,28 @@
+package org.ll.bugburgerbackend.global.handler.relay;
+
+// 여러 인스턴스(blue/green 등)에 흩어진 시그널링 세션을 잇는 노드 간 전송 계층
+// 구현은 프레임을 전달만 하고, 어느 노드로 보낼지는 SignalingHandler 가 세션 → 노드 디렉터리를 보고 정한다.
+public interface SignalingRelay {
+
+    String nodeId();
+
+    void start(Listener listener);
+
+    // 연결된 모든 다른 노드로 보낸다. 입장/퇴장 알림용
+    void broadcast(RelayFrame frame);
+
+    // node 한 곳으로만 보낸다. 큐가 가득 찼거나 연결이 없으면 버린다.
+    void send(String node, RelayFrame frame);
+
+    void close();
+
+    interface Listener {
+        // node 와 (다시) 연결됐다. 이 노드의 참가자 목록을 그 노드에 알려야 한다.
+        void onNodeUp(String node);
+
+        void onFrame(RelayFrame frame);
+
+        // node 와의 연결이 끊겼다. 그 노드의 참가자는 모두 나간 것으로 본다.
+        void onNodeDown(String node);
+    }
+}
@@ -0,0 +1,288 @@
+package org.ll.bugburgerbackend.global.handler.relay;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// TCP 로 노드끼리 프레임을 주고받는다. 노드 id 는 다른 노드가 접속할 주소(host:port) 그 자체다.
+// 노드마다 listen 포트 하나를 열고, 다른 노드로는 단방향 연결(PeerLink)을 하나씩 유지한다.
+// 연결이 끊기면 재연결하고, 연결될 때마다 onNodeUp 으로 참가자 목록을 다시 알리게 한다.
+// 로컬에서는 127.0.0.1 의 서로 다른 포트로 여러 노드를 띄워 시험할 수 있다.
+//
+// listen 은 bindAddress 에서만 한다. 받는 쪽은 접속마다 nonce 를 보내고, 공유 비밀로 만든 HELLO 가 맞지 않으면
+// 프레임을 하나도 처리하지 않고 끊는다. (RelayHandshake)
+//
+// 같은 노드에서 새 연결이 들어오면 그 노드의 이전 연결은 닫고, 이전 연결로 알려진 참가자를 그때 한 번 onNodeDown 으로 지운다.
+// 새 연결의 JOIN 은 HELLO 뒤에 오므로 지운 다음에 다시 채워진다. 이전 연결이 나중에 끊겨도 더는 onNodeDown 을 부르지 않는다.
+@Slf4j
+public class SocketSignalingRelay implements SignalingRelay {
+    private static final int CONNECT_TIMEOUT_MILLIS = 3000;
+    private static final long MAX_RECONNECT_BACKOFF_MILLIS = 5000;
+    private static final int HANDSHAKE_TIMEOUT_MILLIS = 5000;
+
+    private final String nodeId;
+    private final String bindAddress;
+    private final int port;
+    private final List<String> peers;
+    private final int queueCapacity;
+    private final RelayHandshake handshake;
+    private final Map<String, PeerLink> links = new ConcurrentHashMap<>();
+    // 노드마다 지금 유효한 들어오는 연결
+    private final Map<String, Socket> inbound = new ConcurrentHashMap<>();
+    private final LongAdder droppedFrames = new LongAdder();
+
+    private volatile boolean running;
+    private volatile Listener listener;
+    private ServerSocket serverSocket;
+
+    public SocketSignalingRelay(String nodeId, String bindAddress, int port, String secret,
+                                List<String> peers, int queueCapacity) {
+        this.nodeId = nodeId;
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.handshake = new RelayHandshake(secret);
+        this.peers = peers;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void start(Listener listener) {
+        this.listener = listener;
+        try {
+            serverSocket = new ServerSocket();
+            serverSocket.setReuseAddress(true);
+            serverSocket.bind(new InetSocketAddress(bindAddress, port));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to bind signaling relay " + bindAddress + ":" + port, e);
+        }
+        running = true;
+        startThread("signaling-relay-accept", this::acceptLoop);
+
+        for (String peer : peers) {
+            if (!peer.equals(nodeId)) {
+                link(peer);
+            }
+        }
+        log.info("Signaling relay {} listening on {}:{}, peers={}", nodeId, bindAddress, port, peers);
+    }
+
+    @Override
+    public void broadcast(RelayFrame frame) {
+        links.values().forEach(link -> link.enqueue(frame));
+    }
+
+    @Override
+    public void send(String node, RelayFrame frame) {
+        PeerLink link = links.get(node);
+        if (link == null) {
+            droppedFrames.increment();
+            return;
+        }
+        link.enqueue(frame);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException ignored) {
+        }
+        links.values().forEach(PeerLink::close);
+        inbound.values().forEach(SocketSignalingRelay::closeQuietly);
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames.sum();
+    }
+
+    private PeerLink link(String node) {
+        return links.computeIfAbsent(node, address -> {
+            PeerLink link = new PeerLink(address);
+            startThread("signaling-relay-link-" + address, link::run);
+            return link;
+        });
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                startThread("signaling-relay-in-" + socket.getRemoteSocketAddress(), () -> readLoop(socket));
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Signaling relay accept failed", e);
+                }
+            }
+        }
+    }
+
+    private void readLoop(Socket socket) {
+        String remote = null;
+        try (socket; DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            remote = authenticate(socket, in);
+            if (remote == null) {
+                return;
+            }
+            Socket previous = inbound.put(remote, socket);
+            if (previous != null) {
+                closeQuietly(previous);
+                listener.onNodeDown(remote);
+            }
+            // 설정에 없던 노드가 먼저 붙어 와도 반대 방향 연결을 만든다.
+            link(remote);
+
+            while (running) {
+                RelayFrame frame = RelayFrameCodec.read(in);
+                // 그사이 새 연결로 바뀌었으면 이전 연결에서 늦게 읽힌 프레임은 버린다.
+                if (inbound.get(remote) != socket) {
+                    break;
+                }
+                listener.onFrame(frame);
+            }
+        } catch (EOFException e) {
+            log.debug("Signaling relay connection from {} closed", remote);
+        } catch (IOException e) {
+            // 새 연결이 들어와 이전 연결을 닫은 경우는 정상이다.
+            if (running && (remote == null || inbound.get(remote) == socket)) {
+                log.warn("Signaling relay connection from {} failed", remote, e);
+            }
+        }
+        // 더 새 연결로 바뀐 뒤라면 그 연결이 이미 정리했다.
+        if (remote != null && inbound.remove(remote, socket) && running) {
+            listener.onNodeDown(remote);
+        }
+    }
+
+    // 인증된 상대 노드 id, 실패하면 null
+    private String authenticate(Socket socket, DataInputStream in) throws IOException {
+        socket.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+        byte[] nonce = RelayHandshake.challenge();
+        socket.getOutputStream().write(nonce);
+        socket.getOutputStream().flush();
+
+        RelayFrame hello = RelayFrameCodec.read(in);
+        if (!handshake.verify(nonce, hello)) {
+            log.warn("Rejected signaling relay connection from {}: bad handshake", socket.getRemoteSocketAddress());
+            return null;
+        }
+        socket.setSoTimeout(0);
+        return hello.node();
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static void startThread(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // 한 노드로 나가는 연결과 송신 큐. 큐가 가득 차면 프레임을 버린다. (시그널링은 클라이언트가 재시도한다)
+    private class PeerLink {
+        private final String address;
+        private final BlockingQueue<RelayFrame> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private volatile Socket socket;
+
+        PeerLink(String address) {
+            this.address = address;
+        }
+
+        void enqueue(RelayFrame frame) {
+            if (!queue.offer(frame)) {
+                droppedFrames.increment();
+            }
+        }
+
+        void run() {
+            long backoffMillis = 100;
+            while (running) {
+                try (Socket connected = connect()) {
+                    socket = connected;
+                    backoffMillis = 100;
+                    byte[] nonce = new byte[RelayHandshake.NONCE_BYTES];
+                    connected.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+                    new DataInputStream(connected.getInputStream()).readFully(nonce);
+                    connected.setSoTimeout(0);
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connected.getOutputStream()));
+                    RelayFrameCodec.write(out, RelayFrame.hello(nodeId, handshake.proof(nonce, nodeId)));
+                    out.flush();
+                    listener.onNodeUp(address);
+
+                    while (running) {
+                        RelayFrame frame = queue.poll(1, TimeUnit.SECONDS);
+                        if (frame == null) {
+                            continue;
+                        }
+                        RelayFrameCodec.write(out, frame);
+                        // 쌓인 프레임은 한 번에 flush 한다.
+                        if (queue.isEmpty()) {
+                            out.flush();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (IOException e) {
+                    if (!running) {
+                        return;
+                    }
+                    log.debug("Signaling relay link to {} failed, retrying in {} ms", address, backoffMillis, e);
+                    sleep(backoffMillis);
+                    backoffMillis = Math.min(backoffMillis * 2, MAX_RECONNECT_BACKOFF_MILLIS);
+                }
+            }
+        }
+
+        private Socket connect() throws IOException {
+            int separator = address.lastIndexOf(':');
+            Socket connected = new Socket();
+            connected.setTcpNoDelay(true);
+            connected.connect(new InetSocketAddress(address.substring(0, separator),
+                    Integer.parseInt(address.substring(separator + 1))), CONNECT_TIMEOUT_MILLIS);
+            return connected;
+        }
+
+        void close() {
+            Socket current = socket;
+            if (current != null) {
+                closeQuietly(current);
+            }
+        }
+
+        private void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.ll.bugburgerbackend.global.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 액세스 토큰 검증 전용 컴포넌트
+// SecretKey 와 JwtParser 는 기동 시 한 번만 만들고, 서명 검증과 payload 파싱을 한 번에 처리한다.
+// 최근 검증한 토큰은 토큰 문자열을 키로 만료 시각까지 claims 를 캐시해 같은 토큰의 재검증을 생략한다.
+// 키는 토큰 전체다. 서명만 키로 쓰면 payload 를 바꾼 토큰도 캐시에 맞으므로 검증을 건너뛰게 된다.
+@Slf4j
+@Component
+public class JwtVerifier {
+    private final JwtParser parser;
+    // verifiedCacheSize 가 0 이면 null 이고 매번 검증한다.
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
+
+    public JwtVerifier(
+            @Value("${custom.jwt.secretKey}") String secret,
+            @Value("${custom.jwt.verifiedCacheSize}") int verifiedCacheSize
+    ) {
+        this.parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes()))
+                .build();
+        this.verifiedTokens = verifiedCacheSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new UntilTokenExpires())
+                .build();
+    }
+
+    // 유효한 토큰이면 claims, 서명이 틀렸거나 만료됐거나 형식이 잘못됐으면 null
+    public Map<String, Object> verify(String token) {
+        VerifiedToken cached = verifiedTokens == null ? null : verifiedTokens.getIfPresent(token);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            cacheHits.increment();
+            return cached.claims();
+        }
+        cacheMisses.increment();
+
+        // 서명 검증과 파싱에 걸린 시간. 캐시 미스 수로 나누면 한 번의 검증 시간이다.
+        long start = System.nanoTime();
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (ExpiredJwtException e) {
+            log.debug("JWT token has expired: {}", e.getMessage());
+            return null;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("JWT validation failed: {}", e.getMessage());
+            return null;
+        } finally {
+            verifyNanos.add(System.nanoTime() - start);
+        }
+
+        Map<String, Object> payload = Collections.unmodifiableMap(claims);
+        if (verifiedTokens != null && claims.getExpiration() != null) {
+            verifiedTokens.put(token, new VerifiedToken(payload, claims.getExpiration().getTime()));
+        }
+        return payload;
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public long getVerifyNanos() {
+        return verifyNanos.sum();
+    }
+
+    private record VerifiedToken(Map<String, Object> claims, long expiresAtMillis) {
+        long remainingNanos() {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiresAtMillis - System.currentTimeMillis()));
+        }
+    }
+
+    // 토큰의 exp 에 맞춰 항목마다 따로 만료시킨다.
+    private static class UntilTokenExpires implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+            return verified.remainingNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return verified.remainingNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
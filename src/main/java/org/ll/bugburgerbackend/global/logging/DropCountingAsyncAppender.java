@@ -0,0 +1,42 @@
+package org.ll.bugburgerbackend.global.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// AsyncAppender 가 조용히 버린 이벤트 수를 센다. (logback 은 세지 않는다)
+// - 큐 여유가 discardingThreshold 미만이라 INFO 이하를 버린 경우: isDiscardable 이 true 를 돌려줄 때 센다.
+// - neverBlock 인데 큐가 가득 차 offer 가 실패한 경우: offer 결과를 볼 수 없으므로 넣기 직전 남은 자리가 0 이면 센다.
+//   그 사이 작업 스레드가 하나를 꺼내면 실제로는 들어가므로 약간 많게 셀 수 있다.
+public class DropCountingAsyncAppender extends AsyncAppender {
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // 큐가 가득 찼어도 discardingThreshold 로 먼저 버려지는 이벤트는 discarded 에서 센다.
+        if (isNeverBlock() && getRemainingCapacity() == 0
+                && !(getDiscardingThreshold() > 0 && super.isDiscardable(event))) {
+            overflowed.increment();
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            discarded.increment();
+        }
+        return discardable;
+    }
+
+    public long getDiscarded() {
+        return discarded.sum();
+    }
+
+    public long getOverflowed() {
+        return overflowed.sum();
+    }
+}
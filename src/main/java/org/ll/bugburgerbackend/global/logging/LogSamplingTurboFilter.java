@@ -0,0 +1,85 @@
+package org.ll.bugburgerbackend.global.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// logback-spring.xml 에서 logger 이름(prefix)마다 하나씩 선언해 쓰는 샘플링/속도 제한 필터
+// level 이하 이벤트 중 sampleRate 개에 하나만 남기고, 초당 maxPerSecond 개를 넘으면 나머지는 버린다.
+// level 보다 높은 이벤트(예: WARN 필터에서의 ERROR)는 건드리지 않는다.
+//
+// TurboFilter 는 레벨 검사 전에 모든 로그 호출에서 불리므로, 대상이 아니면 문자열 비교 한 번으로 바로 빠진다.
+public class LogSamplingTurboFilter extends TurboFilter {
+    private String loggerPrefix = "";
+    private Level level = Level.INFO;
+    private int sampleRate = 1;
+    private int maxPerSecond = 0;
+
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger loggedInSecond = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level eventLevel, String format, Object[] params, Throwable t) {
+        // isDebugEnabled() 같은 레벨 확인 호출(format == null)은 샘플링하지 않는다.
+        if (format == null
+                || eventLevel.toInt() > level.toInt()
+                || !logger.getName().startsWith(loggerPrefix)
+                || eventLevel.toInt() < logger.getEffectiveLevel().toInt()) {
+            return FilterReply.NEUTRAL;
+        }
+
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            dropped.increment();
+            return FilterReply.DENY;
+        }
+
+        if (maxPerSecond > 0 && !tryAcquire()) {
+            dropped.increment();
+            return FilterReply.DENY;
+        }
+
+        return FilterReply.NEUTRAL;
+    }
+
+    // 1초 고정 창. 창이 바뀌는 순간의 경합으로 조금 더 통과할 수는 있다.
+    private boolean tryAcquire() {
+        long second = System.nanoTime() / 1_000_000_000L;
+        long current = currentSecond.get();
+        if (second != current && currentSecond.compareAndSet(current, second)) {
+            loggedInSecond.set(0);
+        }
+        return loggedInSecond.incrementAndGet() <= maxPerSecond;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.INFO);
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    public String getLoggerPrefix() {
+        return loggerPrefix;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+}
@@ -4,7 +4,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.ll.bugburgerbackend.domain.member.entity.Member;
-import org.ll.bugburgerbackend.domain.member.service.MemberService;
 import org.ll.bugburgerbackend.global.config.AppConfig;
 import org.springframework.http.ResponseCookie;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -25,7 +24,6 @@ import java.util.Optional;
 public class Rq {
     private final HttpServletRequest req;
     private final HttpServletResponse resp;
-    private final MemberService memberService;
 
 //    public void setLogin(Member member) {
 //        UserDetails user = new SecurityUser(
@@ -59,7 +57,12 @@ public class Rq {
 //    }
 //
     public void setCookie(String name, String value) {
-        ResponseCookie cookie = ResponseCookie.from(name, value)
+        resp.addHeader("Set-Cookie", cookie(name, value).toString());
+    }
+
+    // 요청 스레드 밖(비동기 응답)에서도 같은 속성의 쿠키를 만들 수 있도록 분리했다.
+    public static ResponseCookie cookie(String name, String value) {
+        return ResponseCookie.from(name, value)
                 .path("/")
                 .domain(AppConfig.getSiteBackUrl())
                 .sameSite("Strict")
@@ -67,7 +70,6 @@ public class Rq {
                 .httpOnly(true)
 //                .httpOnly(false)
                 .build();
-        resp.addHeader("Set-Cookie", cookie.toString());
     }
 //
 //    public String getCookieValue(String name) {
@@ -108,11 +110,4 @@ public class Rq {
 //        setHeader("Authorization", "Bearer " + member.getApiKey() + " " + newAccessToken);
 //        setCookie("accessToken", newAccessToken);
 //    }
-//
-    public String makeAuthCookies(Member member) {
-        String accessToken = memberService.genAccessToken(member);
-        setCookie("apiKey", member.getToken());
-        setCookie("accessToken", accessToken);
-        return accessToken;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package org.ll.bugburgerbackend.global.timing;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// 응답 바디를 쓰기 직전에 지금까지 잰 단계를 Server-Timing 헤더로 붙인다.
+// 브라우저 개발자 도구의 Timing 탭에서 단계별 시간을 바로 볼 수 있다.
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            String serverTiming = StageTimer.of(servletRequest.getServletRequest()).serverTiming();
+            if (serverTiming != null) {
+                response.getHeaders().add(SERVER_TIMING, serverTiming);
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,31 @@
+package org.ll.bugburgerbackend.global.timing;
+
+// 요청 경로의 측정 단계. name 은 Server-Timing 항목 이름과 메트릭 stage 태그로 쓴다.
+public enum Stage {
+    // JwtAuthenticationFilter: 토큰 검증과 회원 스냅샷 조회
+    AUTH("auth"),
+    // 업로드된 오디오를 끝까지 읽어 중복 요청 키(sha256)를 만든다.
+    UPLOAD("upload"),
+    // 프롬프트 렌더링과 최근 대화 조회
+    PROMPT("prompt"),
+    // 요청 JSON 과 base64 오디오 쓰기. 파이프가 가득 차면 기다리므로 업로드 속도도 함께 들어간다.
+    ENCODE("encode"),
+    // Gemini 호출부터 transcript 를 받을 때까지. encode 와 parse 를 포함한다.
+    GEMINI("gemini"),
+    // 응답 바디 읽기와 transcript 추출
+    PARSE("parse"),
+    // Chat 저장(write-behind 큐에 넣기까지)
+    PERSIST("persist");
+
+    static final Stage[] VALUES = values();
+
+    private final String metricName;
+
+    Stage(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String metricName() {
+        return metricName;
+    }
+}
@@ -0,0 +1,35 @@
+package org.ll.bugburgerbackend.global.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// 단계별 Micrometer 타이머. 단계마다 기동 시 한 번 만들어 두고 요청 끝에 기록만 한다.
+// MeterRegistry 빈이 없으면 전역 레지스트리에 기록하므로 등록된 레지스트리가 없을 때는 버려진다.
+@Component
+public class StageMetrics {
+    private final Timer[] timers = new Timer[Stage.VALUES.length];
+
+    public StageMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        for (Stage stage : Stage.VALUES) {
+            timers[stage.ordinal()] = Timer.builder("http.server.requests.stage")
+                    .description("Time spent in each stage of a request")
+                    .tag("stage", stage.metricName())
+                    .register(registry);
+        }
+    }
+
+    void record(StageTimer timer) {
+        for (Stage stage : Stage.VALUES) {
+            long nanos = timer.nanos(stage);
+            if (nanos > 0) {
+                timers[stage.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.ll.bugburgerbackend.global.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+// 요청 하나의 단계별 소요 시간(ns)
+// StageTimingFilter 가 요청마다 하나 만들어 request attribute 로 둔다. 단계마다 long 하나에 더하므로
+// 요청당 할당은 이 객체와 배열 하나뿐이다.
+// 단계는 서로 겹칠 수 있고(gemini 안에 encode, parse), 한 단계는 한 스레드만 기록한다.
+// 비동기 단계의 값은 CompletableFuture 완료를 거쳐 응답을 쓰는 스레드에 보인다.
+public final class StageTimer {
+    static final String ATTRIBUTE = StageTimer.class.getName();
+    // 필터를 거치지 않은 호출(벤치마크, 요청 밖의 스레드)에서 쓰는 타이머. 기록을 버린다.
+    private static final StageTimer DISABLED = new StageTimer(false);
+
+    private final boolean enabled;
+    private final long[] nanos;
+
+    StageTimer() {
+        this(true);
+    }
+
+    private StageTimer(boolean enabled) {
+        this.enabled = enabled;
+        this.nanos = new long[enabled ? Stage.VALUES.length : 0];
+    }
+
+    public static StageTimer of(HttpServletRequest request) {
+        return request.getAttribute(ATTRIBUTE) instanceof StageTimer timer ? timer : DISABLED;
+    }
+
+    // 요청 스레드에서만 쓴다. 비동기 콜백에는 여기서 얻은 타이머를 넘긴다.
+    public static StageTimer current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return DISABLED;
+        }
+        return attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof StageTimer timer
+                ? timer
+                : DISABLED;
+    }
+
+    // startNanos 는 System.nanoTime() 으로 잰 단계 시작 시각
+    public void stop(Stage stage, long startNanos) {
+        if (enabled) {
+            nanos[stage.ordinal()] += System.nanoTime() - startNanos;
+        }
+    }
+
+    public long nanos(Stage stage) {
+        return enabled ? nanos[stage.ordinal()] : 0;
+    }
+
+    // 예: "auth;dur=0.412, gemini;dur=812.305". 기록된 단계가 없으면 null
+    String serverTiming() {
+        if (!enabled) {
+            return null;
+        }
+
+        StringBuilder header = null;
+        for (Stage stage : Stage.VALUES) {
+            long value = nanos[stage.ordinal()];
+            if (value <= 0) {
+                continue;
+            }
+            if (header == null) {
+                header = new StringBuilder(128);
+            } else {
+                header.append(", ");
+            }
+            long micros = value / 1000;
+            long fraction = micros % 1000;
+            header.append(stage.metricName()).append(";dur=").append(micros / 1000).append('.');
+            if (fraction < 100) {
+                header.append('0');
+            }
+            if (fraction < 10) {
+                header.append('0');
+            }
+            header.append(fraction);
+        }
+        return header == null ? null : header.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package org.ll.bugburgerbackend.global.timing;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// 요청마다 StageTimer 를 만들어 두고, 요청이 끝나면 단계별 시간을 메트릭으로 남긴다.
+// 인증 필터보다 먼저 돌아야 auth 단계를 잴 수 있으므로 가장 앞에 둔다.
+// 비동기 요청(CompletableFuture, SSE)은 응답이 끝난 뒤에 기록한다.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class StageTimingFilter extends OncePerRequestFilter {
+    private final StageMetrics stageMetrics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StageTimer timer = new StageTimer();
+        request.setAttribute(StageTimer.ATTRIBUTE, timer);
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new RecordOnComplete(timer));
+            } else {
+                stageMetrics.record(timer);
+            }
+        }
+    }
+
+    private class RecordOnComplete implements AsyncListener {
+        private final StageTimer timer;
+
+        RecordOnComplete(StageTimer timer) {
+            this.timer = timer;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            stageMetrics.record(timer);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
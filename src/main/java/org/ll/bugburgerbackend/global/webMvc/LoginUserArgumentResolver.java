@@ -2,10 +2,9 @@ package org.ll.bugburgerbackend.global.webMvc;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.ll.bugburgerbackend.domain.member.dto.MemberSnapshot;
 import org.ll.bugburgerbackend.domain.member.entity.Member;
 import org.ll.bugburgerbackend.domain.member.service.MemberService;
-import org.ll.bugburgerbackend.global.Ut.Ut;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.MethodParameter;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,18 +21,11 @@ public class LoginUserArgumentResolver implements HandlerMethodArgumentResolver
 
     private final MemberService memberService;
 
-    @Value("${custom.jwt.secretKey}")
-    private String jwtSecretKey;
-
     @Override
     public boolean supportsParameter(MethodParameter parameter) {
-        boolean supports = parameter.hasParameterAnnotation(LoginUser.class) &&
-                parameter.getParameterType().equals(Member.class);
-        log.trace("[LoginUserArgResolver] supportsParameter for {}.{}: {}",
-                parameter.getContainingClass().getSimpleName(),
-                parameter.getMethod().getName(),
-                supports);
-        return supports;
+        return parameter.hasParameterAnnotation(LoginUser.class) &&
+                (parameter.getParameterType().equals(MemberSnapshot.class)
+                        || parameter.getParameterType().equals(Member.class));
     }
 
     @Override
@@ -41,32 +33,29 @@ public class LoginUserArgumentResolver implements HandlerMethodArgumentResolver
         MethodParameter parameter, ModelAndViewContainer mavContainer,
         NativeWebRequest webRequest, WebDataBinderFactory binderFactory
     ) {
-        log.debug("[LoginUserArgResolver] Attempting to resolve @LoginUser for {}.{}",
-                parameter.getContainingClass().getSimpleName(),
-                parameter.getMethod().getName());
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
         if (authentication == null) {
-            log.warn("[LoginUserArgResolver] No authentication found in SecurityContext.");
+            log.debug("[LoginUserArgResolver] No authentication found in SecurityContext.");
             return null;
         }
-        
-        log.debug("[LoginUserArgResolver] Authentication object found: {}", authentication);
+
         if (!authentication.isAuthenticated()) {
             log.warn("[LoginUserArgResolver] Authentication object is not authenticated: {}", authentication.getName());
             return null;
         }
 
         Object principal = authentication.getPrincipal();
-        log.debug("[LoginUserArgResolver] Principal object: {}, Type: {}", principal, principal != null ? principal.getClass().getName() : "null");
 
-        if (principal instanceof Member) {
-            Member member = (Member) principal;
-            log.info("[LoginUserArgResolver] Principal is an instance of Member. Resolved Member: {}", member.getUsername());
-            return member;
+        if (principal instanceof MemberSnapshot snapshot) {
+            if (parameter.getParameterType().equals(MemberSnapshot.class)) {
+                return snapshot;
+            }
+            // 엔티티가 꼭 필요한 핸들러만 DB 에서 다시 읽는다.
+            return memberService.findById(snapshot.id()).orElse(null);
         }
 
-        log.warn("[LoginUserArgResolver] Principal is not an instance of Member. Principal: {}", principal);
+        log.debug("[LoginUserArgResolver] Principal is not an instance of MemberSnapshot: {}", principal);
         return null;
     }
 }
\ No newline at end of file
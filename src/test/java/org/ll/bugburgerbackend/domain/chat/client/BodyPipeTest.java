@@ -0,0 +1,93 @@
+package org.ll.bugburgerbackend.domain.chat.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BodyPipeTest {
+
+    @Test
+    void transfersBodyWhenEveryReadRunsOnANewThread() throws Exception {
+        byte[] body = new byte[200_003];
+        new Random(1).nextBytes(body);
+        BodyPipe pipe = new BodyPipe(1024);
+
+        Thread writer = Thread.ofVirtual().start(() -> {
+            try (OutputStream out = pipe.outputStream()) {
+                for (int i = 0; i < body.length; i += 777) {
+                    out.write(body, i, Math.min(777, body.length - i));
+                }
+            } catch (IOException e) {
+                pipe.fail(e);
+                return;
+            }
+            pipe.finish();
+        });
+
+        // HttpClient 처럼 읽을 때마다 다른 스레드에서 읽는다. 쓰는 스레드가 먼저 끝나도 남은 바이트를 끝까지 읽는다.
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        byte[] buffer = new byte[500];
+        AtomicInteger read = new AtomicInteger();
+        do {
+            Thread reader = Thread.ofVirtual().start(() -> {
+                try {
+                    read.set(pipe.inputStream().read(buffer));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            reader.join();
+            if (read.get() > 0) {
+                received.write(buffer, 0, read.get());
+            }
+        } while (read.get() >= 0);
+        writer.join();
+
+        assertThat(received.toByteArray()).isEqualTo(body);
+    }
+
+    @Test
+    void closingOutputDoesNotEndTheBody() throws IOException {
+        BodyPipe pipe = new BodyPipe(64);
+        pipe.outputStream().write(new byte[10]);
+        pipe.outputStream().close();
+        pipe.fail(new IOException("audio read failed"));
+
+        InputStream in = pipe.inputStream();
+        assertThatThrownBy(() -> in.read(new byte[64]))
+                .isInstanceOf(IOException.class)
+                .hasRootCauseMessage("audio read failed");
+    }
+
+    @Test
+    void readerCloseReleasesBlockedWriter() throws Exception {
+        BodyPipe pipe = new BodyPipe(16);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread writer = Thread.ofVirtual().start(() -> {
+            try {
+                pipe.outputStream().write(new byte[100]);
+            } catch (IOException e) {
+                failure.set(e);
+            }
+        });
+        while (pipe.inputStream().available() < 16) {
+            Thread.onSpinWait();
+        }
+        pipe.inputStream().close();
+        writer.join(5000);
+
+        assertThat(writer.isAlive()).isFalse();
+        assertThat(failure.get()).isInstanceOf(IOException.class);
+    }
+}
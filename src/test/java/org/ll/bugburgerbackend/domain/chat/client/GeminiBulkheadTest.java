@@ -0,0 +1,115 @@
+package org.ll.bugburgerbackend.domain.chat.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 호출은 테스트가 쥐고 있는 future 로 흉내 내고, 그 future 를 완료해 자리를 돌려준다.
+class GeminiBulkheadTest {
+
+    @Test
+    void queuesWithoutBlockingAndStartsTheCallWhenAPermitIsReleased() {
+        GeminiBulkhead bulkhead = new GeminiBulkhead(1, 5000, 10);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        AtomicInteger secondStarted = new AtomicInteger();
+
+        bulkhead.execute(() -> first);
+        CompletableFuture<String> second = bulkhead.execute(() -> {
+            secondStarted.incrementAndGet();
+            return CompletableFuture.completedFuture("second");
+        });
+
+        // 호출한 스레드는 바로 돌아오고 두 번째 호출은 아직 시작되지 않았다.
+        assertThat(second).isNotDone();
+        assertThat(secondStarted).hasValue(0);
+        assertThat(bulkhead.getQueuedCalls()).isEqualTo(1);
+
+        first.complete("first");
+
+        assertThat(second.join()).isEqualTo("second");
+        assertThat(secondStarted).hasValue(1);
+        assertThat(bulkhead.getQueuedCalls()).isZero();
+        assertThat(bulkhead.getInFlightCalls()).isZero();
+    }
+
+    @Test
+    void admitsQueuedCallsInArrivalOrder() {
+        GeminiBulkhead bulkhead = new GeminiBulkhead(1, 5000, 10);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        StringBuilder order = new StringBuilder();
+
+        bulkhead.execute(() -> first);
+        CompletableFuture<String> second = bulkhead.execute(() -> {
+            order.append('b');
+            return CompletableFuture.completedFuture("b");
+        });
+        CompletableFuture<String> third = bulkhead.execute(() -> {
+            order.append('c');
+            return CompletableFuture.completedFuture("c");
+        });
+        first.complete("a");
+
+        CompletableFuture.allOf(second, third).join();
+        assertThat(order.toString()).isEqualTo("bc");
+    }
+
+    @Test
+    void rejectsWhenTheWaitTimesOutAndKeepsThePermitForTheRunningCall() {
+        GeminiBulkhead bulkhead = new GeminiBulkhead(1, 50, 10);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        bulkhead.execute(() -> first);
+
+        CompletableFuture<String> second = bulkhead.execute(() -> CompletableFuture.completedFuture("second"));
+
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(GeminiBulkheadFullException.class);
+        assertThat(bulkhead.getQueuedCalls()).isZero();
+        assertThat(bulkhead.getInFlightCalls()).isEqualTo(1);
+
+        // 시간 초과된 대기자에게는 자리를 넘기지 않으므로 다음 호출이 바로 들어간다.
+        first.complete("first");
+        assertThat(bulkhead.execute(() -> CompletableFuture.completedFuture("third")).join()).isEqualTo("third");
+    }
+
+    @Test
+    void rejectsImmediatelyWhenTheQueueIsFull() {
+        GeminiBulkhead bulkhead = new GeminiBulkhead(1, 5000, 1);
+        bulkhead.execute(CompletableFuture::new);
+        CompletableFuture<String> queued = bulkhead.execute(() -> CompletableFuture.completedFuture("queued"));
+
+        CompletableFuture<String> rejected = bulkhead.execute(() -> CompletableFuture.completedFuture("rejected"));
+
+        assertThat(queued).isNotDone();
+        assertThatThrownBy(rejected::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(GeminiBulkheadFullException.class);
+        assertThat(bulkhead.getRejectedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsImmediatelyWhenWaitingIsDisabled() {
+        GeminiBulkhead bulkhead = new GeminiBulkhead(1, 0, 10);
+        bulkhead.execute(CompletableFuture::new);
+
+        assertThatThrownBy(() -> bulkhead.execute(() -> CompletableFuture.completedFuture("x")).join())
+                .hasCauseInstanceOf(GeminiBulkheadFullException.class);
+        assertThat(bulkhead.getQueuedCalls()).isZero();
+    }
+
+    @Test
+    void releasesThePermitWhenTheCallThrows() {
+        GeminiBulkhead bulkhead = new GeminiBulkhead(1, 0, 10);
+
+        assertThatThrownBy(() -> bulkhead.execute(() -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(bulkhead.getInFlightCalls()).isZero();
+    }
+}
@@ -0,0 +1,188 @@
+package org.ll.bugburgerbackend.domain.chat.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ll.bugburgerbackend.global.timing.StageTimer;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 로컬 HttpServer 를 Gemini 대신 띄워 실제 HTTP 로 generateContent 를 호출한다.
+class GeminiClientTest {
+    private static final String TRANSCRIPT = "오늘은 손주와 공원에 다녀오셨군요.";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong requestBytes = new AtomicLong();
+
+    private final ExecutorService serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private HttpServer server;
+    private GeminiClient client;
+    private volatile int status = 200;
+    // 설정하면 응답 헤더와 바디 앞부분만 보내고 releaseBody 가 열릴 때까지 나머지를 보내지 않는다.
+    private volatile CountDownLatch headersSent;
+    private volatile CountDownLatch releaseBody;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/v1beta/models/", this::handle);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        client = client(5000);
+    }
+
+    // 동시 호출은 하나만 허용하고 기다리지 않는다.
+    private GeminiClient client(long readTimeoutMillis) {
+        return new GeminiClient(new GeminiCodec(objectMapper), new GeminiBulkhead(1, 0, 0), new GeminiMetrics(registry),
+                "test-key", "http://localhost:" + server.getAddress().getPort(), "gemini-test",
+                1000, readTimeoutMillis, 8192, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void returnsTranscriptOfSuccessfulCall() {
+        // 같은 커넥션을 다시 쓰려면 응답이 끝까지 읽혀야 하므로 두 번 연속 호출한다.
+        for (int i = 0; i < 2; i++) {
+            String transcript = client.generateContent(this::writeRequest, StageTimer.current()).join();
+
+            assertThat(transcript).isEqualTo(TRANSCRIPT);
+        }
+        assertThat(requestBytes.get()).isGreaterThan(2 * 16384L);
+        assertThat(registry.get("gemini.client.requests").tag("method", "generateContent").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void failsWithStatusCodeOfErrorResponse() {
+        status = 429;
+
+        assertThatThrownBy(() -> client.generateContent(this::writeRequest, StageTimer.current()).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOfSatisfying(GeminiApiException.class, e -> assertThat(e.getStatusCode()).isEqualTo(429));
+        assertThat(registry.get("gemini.client.errors").tag("status", "429").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void holdsBulkheadPermitUntilResponseBodyIsRead() throws Exception {
+        headersSent = new CountDownLatch(1);
+        releaseBody = new CountDownLatch(1);
+
+        CompletableFuture<String> first = client.generateContent(this::writeRequest, StageTimer.current());
+        assertThat(headersSent.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 첫 호출은 헤더를 받았지만 바디를 아직 읽는 중이므로 자리가 없다.
+        assertThatThrownBy(() -> client.generateContent(this::writeRequest, StageTimer.current()).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(GeminiBulkheadFullException.class);
+
+        releaseBody.countDown();
+        assertThat(first.join()).isEqualTo(TRANSCRIPT);
+        assertThat(client.generateContent(this::writeRequest, StageTimer.current()).join()).isEqualTo(TRANSCRIPT);
+    }
+
+    @Test
+    void timesOutResponseBodyThatStallsAndReleasesBulkheadPermit() throws Exception {
+        GeminiClient impatient = client(2000);
+        headersSent = new CountDownLatch(1);
+        releaseBody = new CountDownLatch(1);
+        try {
+            // 헤더는 바로 오지만 바디가 멈춘다. HttpRequest.timeout 만으로는 끝나지 않는 경우다.
+            assertThatThrownBy(() -> impatient.generateContent(this::writeRequest, StageTimer.current()).join())
+                    .isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(HttpTimeoutException.class);
+            assertThat(headersSent.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(registry.get("gemini.client.errors").tag("status", "timeout").counter().count()).isEqualTo(1);
+
+            releaseBody.countDown();
+            releaseBody = null;
+            assertThat(impatient.generateContent(this::writeRequest, StageTimer.current()).join()).isEqualTo(TRANSCRIPT);
+        } finally {
+            impatient.shutdown();
+        }
+    }
+
+    @Test
+    void abortsRequestWhenBodyWriterFails() {
+        GeminiClient.BodyWriter failing = out -> {
+            // 파이프 버퍼(8KB)보다 많이 쓴 뒤 실패해서 앞부분은 이미 전송된 상태를 만든다.
+            out.write(new byte[32 * 1024]);
+            throw new IOException("audio read failed");
+        };
+
+        assertThatThrownBy(() -> client.generateContent(failing, StageTimer.current()).join())
+                .isInstanceOf(CompletionException.class)
+                .hasRootCauseMessage("audio read failed");
+        // 잘린 바디가 정상 요청으로 끝까지 전송되지 않는다.
+        assertThat(requestBytes.get()).isZero();
+    }
+
+    private void writeRequest(OutputStream out) throws IOException {
+        new GeminiCodec(objectMapper).writeGenerateContentRequest(out, List.of(), "prompt", "audio/webm",
+                new ByteArrayResource(new byte[16384]));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try (InputStream in = exchange.getRequestBody()) {
+                requestBytes.addAndGet(in.transferTo(OutputStream.nullOutputStream()));
+            }
+
+            byte[] body = status == 200
+                    ? ("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + TRANSCRIPT + "\"}],\"role\":\"model\"},"
+                    + "\"finishReason\":\"STOP\"}],\"usageMetadata\":{\"promptTokenCount\":812,\"totalTokenCount\":876},"
+                    + "\"modelVersion\":\"gemini-test\"}").getBytes(StandardCharsets.UTF_8)
+                    : "{\"error\":{\"code\":429,\"status\":\"RESOURCE_EXHAUSTED\"}}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            CountDownLatch gate = releaseBody;
+            if (gate == null) {
+                exchange.sendResponseHeaders(status, body.length);
+                exchange.getResponseBody().write(body);
+                return;
+            }
+
+            exchange.sendResponseHeaders(status, 0);
+            OutputStream out = exchange.getResponseBody();
+            out.write(body, 0, 16);
+            out.flush();
+            headersSent.countDown();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            out.write(body, 16, body.length - 16);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.ll.bugburgerbackend.domain.chat.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.ll.bugburgerbackend.domain.chat.context.ConversationTurn;
+import org.ll.bugburgerbackend.global.type.ChatType;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeminiCodecTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GeminiCodec codec = new GeminiCodec(objectMapper);
+
+    @Test
+    void writesHistoryAudioAndPromptAsContents() throws IOException {
+        byte[] audio = new byte[3000];
+        for (int i = 0; i < audio.length; i++) {
+            audio[i] = (byte) i;
+        }
+        List<ConversationTurn> history = List.of(
+                ConversationTurn.patientAudio("audio/webm", new byte[]{1, 2, 3}),
+                ConversationTurn.text(ChatType.AI, "반갑습니다"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.writeGenerateContentRequest(out, history, "prompt", "audio/webm", new ByteArrayResource(audio));
+
+        JsonNode contents = objectMapper.readTree(out.toByteArray()).get("contents");
+        assertThat(contents).hasSize(3);
+        assertThat(contents.get(0).get("role").asText()).isEqualTo("user");
+        assertThat(contents.get(0).at("/parts/0/inline_data/mime_type").asText()).isEqualTo("audio/webm");
+        assertThat(Base64.getDecoder().decode(contents.get(0).at("/parts/0/inline_data/data").asText()))
+                .containsExactly(1, 2, 3);
+        assertThat(contents.get(1).get("role").asText()).isEqualTo("model");
+        assertThat(contents.get(1).at("/parts/0/text").asText()).isEqualTo("반갑습니다");
+
+        JsonNode current = contents.get(2);
+        assertThat(current.get("role").asText()).isEqualTo("user");
+        assertThat(current.at("/parts/0/inline_data/mime_type").asText()).isEqualTo("audio/webm");
+        assertThat(Base64.getDecoder().decode(current.at("/parts/0/inline_data/data").asText())).isEqualTo(audio);
+        assertThat(current.at("/parts/1/text").asText()).isEqualTo("prompt");
+    }
+
+    @Test
+    void readsTranscriptWithoutClosingTheStream() throws IOException {
+        String json = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"오늘 날씨가 좋네요\"}],\"role\":\"model\"},"
+                + "\"finishReason\":\"STOP\"}],\"usageMetadata\":{\"totalTokenCount\":10}}";
+        CloseTrackingInputStream in = new CloseTrackingInputStream(json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(codec.readTranscript(in)).isEqualTo("오늘 날씨가 좋네요");
+        assertThat(in.closed).isFalse();
+        // GeminiClient 처럼 남은 바이트를 비울 수 있어야 한다.
+        in.transferTo(OutputStream.nullOutputStream());
+    }
+
+    @Test
+    void readsEmptyTranscriptWhenTextIsMissing() throws IOException {
+        String json = "{\"candidates\":[{\"finishReason\":\"SAFETY\"}]}";
+
+        assertThat(codec.readTranscript(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))).isEmpty();
+    }
+
+    @Test
+    void readsTextOfStreamChunk() throws IOException {
+        assertThat(codec.readChunkText("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"조각\"}]}}]}"))
+                .isEqualTo("조각");
+        assertThat(codec.readChunkText("{\"candidates\":[{\"finishReason\":\"STOP\"}]}")).isNull();
+    }
+
+    private static class CloseTrackingInputStream extends FilterInputStream {
+        private boolean closed;
+
+        CloseTrackingInputStream(byte[] bytes) {
+            super(new ByteArrayInputStream(bytes));
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("closed");
+            }
+            return super.read(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.ll.bugburgerbackend.domain.chat.context;
+
+import org.junit.jupiter.api.Test;
+import org.ll.bugburgerbackend.domain.chat.dto.ChatHistoryItem;
+import org.ll.bugburgerbackend.domain.chat.repository.ChatRepository;
+import org.ll.bugburgerbackend.global.type.ChatType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConversationContextCacheTest {
+    private static final long MEMBER_ID = 1L;
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 5, 1, 9, 30);
+
+    private final ChatRepository chatRepository = mock(ChatRepository.class);
+    private final ConversationContextCache cache = new ConversationContextCache(chatRepository, 4, 100, 1_000_000, () -> T0);
+
+    @Test
+    void warmsOnceFromLatestRowsOldestFirst() {
+        when(chatRepository.findLatest(eq(MEMBER_ID), any())).thenReturn(List.of(
+                item(2, "둘째", T0.minusSeconds(10)),
+                item(1, "첫째", T0.minusSeconds(20))));
+
+        assertThat(messages(cache.recentTurns(MEMBER_ID))).containsExactly("첫째", "둘째");
+        assertThat(messages(cache.recentTurns(MEMBER_ID))).containsExactly("첫째", "둘째");
+        verify(chatRepository, times(1)).findLatest(eq(MEMBER_ID), any());
+    }
+
+    @Test
+    void keepsTurnsAppendedBeforeWarmUpThatAreNotInTheDatabaseYet() {
+        // 회원 음성과 write-behind 큐에만 있는 AI 응답이 먼저 들어온다.
+        cache.append(MEMBER_ID, ConversationTurn.patientAudio("audio/webm", new byte[]{1}));
+        cache.append(MEMBER_ID, ConversationTurn.text(ChatType.AI, "아직 큐에 있는 응답"));
+        when(chatRepository.findLatest(eq(MEMBER_ID), any())).thenReturn(List.of(
+                item(1, "예전 응답", T0.minusMinutes(5))));
+
+        List<ConversationTurn> turns = cache.recentTurns(MEMBER_ID);
+
+        assertThat(turns).extracting(ConversationTurn::chatType)
+                .containsExactly(ChatType.AI, ChatType.PATIENT, ChatType.AI);
+        assertThat(messages(turns)).containsExactly("예전 응답", null, "아직 큐에 있는 응답");
+    }
+
+    @Test
+    void doesNotDuplicateRowsFlushedAfterTheFirstAppend() {
+        cache.append(MEMBER_ID, ConversationTurn.text(ChatType.AI, "새 응답"));
+        // 그 사이 flush 되어 DB 에도 있는 행이다.
+        when(chatRepository.findLatest(eq(MEMBER_ID), any())).thenReturn(List.of(
+                item(2, "새 응답", T0.plusNanos(1_000)),
+                item(1, "예전 응답", T0.minusMinutes(5))));
+
+        assertThat(messages(cache.recentTurns(MEMBER_ID))).containsExactly("예전 응답", "새 응답");
+    }
+
+    @Test
+    void keepsTurnsAppendedWhileLoading() {
+        when(chatRepository.findLatest(eq(MEMBER_ID), any())).thenAnswer(invocation -> {
+            // DB 를 읽는 동안 다른 요청이 응답을 저장한다.
+            cache.append(MEMBER_ID, ConversationTurn.text(ChatType.AI, "읽는 중에 저장된 응답"));
+            return List.of(item(1, "예전 응답", T0.minusMinutes(5)));
+        });
+
+        assertThat(messages(cache.recentTurns(MEMBER_ID))).containsExactly("예전 응답", "읽는 중에 저장된 응답");
+    }
+
+    @Test
+    void keepsOnlyTheLastTurns() {
+        when(chatRepository.findLatest(eq(MEMBER_ID), any())).thenReturn(List.of());
+        cache.recentTurns(MEMBER_ID);
+
+        for (int i = 0; i < 6; i++) {
+            cache.append(MEMBER_ID, ConversationTurn.text(ChatType.AI, "응답" + i));
+        }
+
+        assertThat(messages(cache.recentTurns(MEMBER_ID))).containsExactly("응답2", "응답3", "응답4", "응답5");
+    }
+
+    private static List<String> messages(List<ConversationTurn> turns) {
+        return turns.stream().map(ConversationTurn::message).toList();
+    }
+
+    private static ChatHistoryItem item(long id, String message, LocalDateTime createdAt) {
+        return new ChatHistoryItem(id, message, ChatType.AI, createdAt);
+    }
+}
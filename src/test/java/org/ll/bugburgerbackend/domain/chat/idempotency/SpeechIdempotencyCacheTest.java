@@ -0,0 +1,111 @@
+package org.ll.bugburgerbackend.domain.chat.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpeechIdempotencyCacheTest {
+    private static final long TTL = 1_000;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SpeechIdempotencyCache cache = new SpeechIdempotencyCache(TTL, 100, clock::get);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void coalescesConcurrentDuplicatesIntoOneCall() throws IOException {
+        SpeechIdempotencyKey key = cache.keyFor(1L, "retry-1", audio("hello"));
+        CompletableFuture<String> gemini = new CompletableFuture<>();
+
+        CompletableFuture<String> first = cache.execute(key, () -> call(gemini));
+        CompletableFuture<String> second = cache.execute(key, () -> call(new CompletableFuture<>()));
+        gemini.complete("안녕하세요");
+
+        assertThat(first.join()).isEqualTo("안녕하세요");
+        assertThat(second.join()).isEqualTo("안녕하세요");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(cache.getCoalesced()).isEqualTo(1);
+    }
+
+    @Test
+    void returnsCompletedResultWithoutCallingAgain() throws IOException {
+        SpeechIdempotencyKey key = cache.keyFor(1L, null, audio("hello"));
+        cache.execute(key, () -> call(CompletableFuture.completedFuture("안녕하세요"))).join();
+
+        assertThat(cache.execute(key, () -> call(CompletableFuture.completedFuture("다른 답"))).join())
+                .isEqualTo("안녕하세요");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheFailures() throws IOException {
+        SpeechIdempotencyKey key = cache.keyFor(1L, "retry-1", audio("hello"));
+        CompletableFuture<String> failed = cache.execute(key,
+                () -> call(CompletableFuture.failedFuture(new IllegalStateException("gemini down"))));
+
+        assertThatThrownBy(failed::join).isInstanceOf(CompletionException.class);
+        assertThat(cache.execute(key, () -> call(CompletableFuture.completedFuture("안녕하세요"))).join())
+                .isEqualTo("안녕하세요");
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsReusedHeaderWithDifferentAudio() throws IOException {
+        cache.execute(cache.keyFor(1L, "retry-1", audio("hello")),
+                () -> call(CompletableFuture.completedFuture("안녕하세요"))).join();
+
+        CompletableFuture<String> reused = cache.execute(cache.keyFor(1L, "retry-1", audio("goodbye")),
+                () -> call(CompletableFuture.completedFuture("잘 가요")));
+
+        assertThatThrownBy(reused::join).hasCauseInstanceOf(IdempotencyKeyMismatchException.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsMembersApart() throws IOException {
+        cache.execute(cache.keyFor(1L, "retry-1", audio("hello")),
+                () -> call(CompletableFuture.completedFuture("1번 회원"))).join();
+
+        assertThat(cache.execute(cache.keyFor(2L, "retry-1", audio("hello")),
+                () -> call(CompletableFuture.completedFuture("2번 회원"))).join())
+                .isEqualTo("2번 회원");
+    }
+
+    @Test
+    void startsTtlWhenResultArrives() throws IOException {
+        SpeechIdempotencyKey key = cache.keyFor(1L, null, audio("hello"));
+        CompletableFuture<String> gemini = new CompletableFuture<>();
+        cache.execute(key, () -> call(gemini));
+
+        // 호출이 TTL 보다 오래 걸려도 진행 중인 동안은 만료되지 않는다.
+        clock.set(5 * TTL);
+        gemini.complete("안녕하세요");
+
+        clock.set(5 * TTL + TTL - 1);
+        assertThat(cache.execute(key, () -> call(CompletableFuture.completedFuture("새 답"))).join())
+                .isEqualTo("안녕하세요");
+
+        clock.set(5 * TTL + TTL + 1);
+        assertThat(cache.execute(key, () -> call(CompletableFuture.completedFuture("새 답"))).join())
+                .isEqualTo("새 답");
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    private CompletableFuture<String> call(CompletableFuture<String> result) {
+        calls.incrementAndGet();
+        return result;
+    }
+
+    private static ByteArrayResource audio(String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,44 @@
+package org.ll.bugburgerbackend.domain.chat.prompt;
+
+import org.junit.jupiter.api.Test;
+import org.ll.bugburgerbackend.domain.member.dto.MemberSnapshot;
+import org.ll.bugburgerbackend.domain.member.event.MemberUpdatedEvent;
+import org.ll.bugburgerbackend.global.type.DementiaStage;
+import org.ll.bugburgerbackend.global.type.GenderType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptServiceTest {
+    private final PromptService promptService = new PromptService("%s / %s / %s / %s / %s / %s / %s / %s", 16);
+
+    @Test
+    void reusesPromptForSameSnapshot() {
+        MemberSnapshot member = member("산책");
+
+        assertThat(promptService.render(member)).isSameAs(promptService.render(member));
+    }
+
+    @Test
+    void rendersAgainWhenSnapshotChangedWithoutEviction() {
+        // eviction 이 아직 안 왔거나, eviction 뒤에 옛 스냅샷으로 렌더링한 결과가 다시 들어간 경우
+        promptService.render(member("산책"));
+
+        assertThat(promptService.render(member("트로트"))).contains("트로트").doesNotContain("산책");
+        assertThat(promptService.render(member("산책"))).contains("산책");
+    }
+
+    @Test
+    void evictsOnMemberUpdated() {
+        MemberSnapshot member = member("산책");
+        String first = promptService.render(member);
+
+        promptService.onMemberUpdated(new MemberUpdatedEvent(member.id()));
+
+        assertThat(promptService.render(member)).isEqualTo(first).isNotSameAs(first);
+    }
+
+    private static MemberSnapshot member(String interests) {
+        return new MemberSnapshot(1L, "hong", "길동", "1945-03-01", GenderType.MALE, DementiaStage.초기,
+                interests, "교사로 일했다.", "딸 둘", null, null, null, null, null);
+    }
+}
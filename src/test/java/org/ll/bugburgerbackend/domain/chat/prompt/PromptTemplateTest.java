@@ -0,0 +1,56 @@
+package org.ll.bugburgerbackend.domain.chat.prompt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.MissingFormatArgumentException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PromptTemplateTest {
+
+    @Test
+    void rendersSequentialArguments() {
+        PromptTemplate template = PromptTemplate.compile("이름: %s, 나이: %s.");
+
+        assertThat(template.render("홍길동", 80)).isEqualTo("이름: 홍길동, 나이: 80.");
+    }
+
+    @Test
+    void rendersPositionalArgumentsInAnyOrder() {
+        PromptTemplate template = PromptTemplate.compile("%2$s 님, %1$s 입니다. 다시 %2$s 님");
+
+        assertThat(template.render("안내", "홍길동")).isEqualTo("홍길동 님, 안내 입니다. 다시 홍길동 님");
+    }
+
+    @Test
+    void rendersEscapesLikeStringFormat() {
+        String source = "100%% 진행%n다음 줄 %s";
+
+        assertThat(PromptTemplate.compile(source).render("끝")).isEqualTo(String.format(source, "끝"));
+    }
+
+    @Test
+    void rendersNullAsStringFormatDoes() {
+        assertThat(PromptTemplate.compile("관심사: %s").render((Object) null)).isEqualTo("관심사: null");
+    }
+
+    @Test
+    void fallsBackToStringFormatForOtherConversions() {
+        String source = "%s 님은 %d 세, %5s|";
+
+        assertThat(PromptTemplate.compile(source).render("홍길동", 80, "남")).isEqualTo("홍길동 님은 80 세,     남|");
+    }
+
+    @Test
+    void failsWhenArgumentIsMissing() {
+        PromptTemplate template = PromptTemplate.compile("%s 와 %s");
+
+        assertThatThrownBy(() -> template.render("하나")).isInstanceOf(MissingFormatArgumentException.class);
+    }
+
+    @Test
+    void keepsTextWithoutPlaceholders() {
+        assertThat(PromptTemplate.compile("고정된 프롬프트").render()).isEqualTo("고정된 프롬프트");
+    }
+}
@@ -0,0 +1,99 @@
+package org.ll.bugburgerbackend.domain.chat.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ll.bugburgerbackend.domain.chat.dto.ChatHistoryCursor;
+import org.ll.bugburgerbackend.domain.chat.dto.ChatHistoryItem;
+import org.ll.bugburgerbackend.domain.chat.entity.Chat;
+import org.ll.bugburgerbackend.domain.member.entity.Member;
+import org.ll.bugburgerbackend.global.type.ChatType;
+import org.ll.bugburgerbackend.global.type.DementiaStage;
+import org.ll.bugburgerbackend.global.type.GenderType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class ChatRepositoryTest {
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 5, 1, 9, 30);
+
+    @Autowired
+    private ChatRepository chatRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Member member;
+    private Member other;
+
+    @BeforeEach
+    void setUp() {
+        member = persist(member("환자"));
+        other = persist(member("다른환자"));
+    }
+
+    @Test
+    void pagesByCreatedAtEvenWhenIdsAreNotInInsertOrder() {
+        // 다른 인스턴스의 블록에서 받은 id 처럼, 나중에 저장된 메시지의 id 가 더 작다.
+        List<Chat> chats = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            chats.add(persist(chat(member, "m" + i)));
+        }
+        persist(chat(other, "다른 회원"));
+        LocalDateTime[] createdAt = {T0.plusSeconds(6), T0.plusSeconds(5), T0.plusSeconds(4),
+                T0.plusSeconds(2), T0.plusSeconds(2), T0.plusSeconds(2), T0};
+        for (int i = 0; i < chats.size(); i++) {
+            chats.get(i).setCreatedAt(createdAt[i]);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<String> messages = new ArrayList<>();
+        List<ChatHistoryItem> page = chatRepository.findLatest(member.getId(), Limit.of(3));
+        while (!page.isEmpty()) {
+            page.forEach(item -> messages.add(item.message()));
+            ChatHistoryCursor cursor = ChatHistoryCursor.decode(ChatHistoryCursor.of(page.getLast()).encode());
+            page = chatRepository.findHistoryBefore(member.getId(), cursor.createdAt(), cursor.id(), Limit.of(3));
+        }
+
+        // 최신순이고, 같은 시각의 m3/m4/m5 는 id 가 큰 것부터 나온다. 페이지 경계에서 빠지거나 겹치지 않는다.
+        List<String> sameInstant = chats.subList(3, 6).stream()
+                .sorted((a, b) -> Long.compare(b.getId(), a.getId()))
+                .map(Chat::getMessage)
+                .toList();
+        List<String> expected = new ArrayList<>(List.of("m0", "m1", "m2"));
+        expected.addAll(sameInstant);
+        expected.add("m6");
+        assertThat(messages).containsExactlyElementsOf(expected);
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    private static Chat chat(Member member, String message) {
+        return Chat.builder()
+                .member(member)
+                .message(message)
+                .chatType(ChatType.PATIENT)
+                .build();
+    }
+
+    private static Member member(String nickname) {
+        return Member.builder()
+                .username("patient")
+                .birth("1950-01-01")
+                .nickname(nickname)
+                .dementiaStage(DementiaStage.values()[0])
+                .gender(GenderType.values()[0])
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package org.ll.bugburgerbackend.domain.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.ll.bugburgerbackend.domain.chat.service.ChatWriteBehindQueue.PendingChat;
+import org.ll.bugburgerbackend.global.type.ChatType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatSpillStoreTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<ChatSpillStore> stores = new ArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        stores.forEach(ChatSpillStore::close);
+    }
+
+    @Test
+    void replaysOwnRowsInBatchesAndDeletesTheFile() throws IOException {
+        ChatSpillStore store = open();
+        store.append(List.of(chat("하나"), chat("둘")));
+        store.append(List.of(chat("셋")));
+
+        List<List<PendingChat>> batches = new ArrayList<>();
+        assertThat(store.replay(2, batches::add)).isEqualTo(3);
+
+        assertThat(batches).extracting(List::size).containsExactly(2, 1);
+        assertThat(batches.get(0).get(0)).isEqualTo(chat("하나"));
+        assertThat(store.replay(2, batches::add)).isZero();
+        // 새 세그먼트 하나만 남는다.
+        assertThat(files()).hasSize(1).allMatch(name -> name.endsWith(".jsonl"));
+    }
+
+    @Test
+    void keepsRowsThatFailAgainForTheNextReplay() throws IOException {
+        ChatSpillStore store = open();
+        store.append(List.of(chat("하나")));
+
+        // DB 쓰기가 다시 실패하면 write 가 같은 저장소에 다시 남긴다.
+        store.replay(10, batch -> {
+            try {
+                store.append(batch);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        List<PendingChat> replayed = new ArrayList<>();
+        assertThat(store.replay(10, replayed::addAll)).isEqualTo(1);
+        assertThat(replayed).containsExactly(chat("하나"));
+    }
+
+    @Test
+    void doesNotTakeRowsOfARunningInstance() throws IOException {
+        ChatSpillStore blue = open();
+        ChatSpillStore green = open();
+        blue.append(List.of(chat("blue")));
+
+        List<PendingChat> replayed = new ArrayList<>();
+        assertThat(green.replay(10, replayed::addAll)).isZero();
+
+        // blue 가 종료되면 green 이 가져간다.
+        blue.close();
+        assertThat(green.replay(10, replayed::addAll)).isEqualTo(1);
+        assertThat(replayed).containsExactly(chat("blue"));
+        assertThat(blue.replay(10, replayed::addAll)).isZero();
+    }
+
+    @Test
+    void replaysFileLeftByAnInstanceThatDiedWhileReplaying() throws IOException {
+        Files.writeString(directory.resolve("dead-0.other.replaying"),
+                objectMapper.writeValueAsString(chat("하나")) + "\nnot json\n\n"
+                        + objectMapper.writeValueAsString(chat("둘")) + "\n",
+                StandardCharsets.UTF_8);
+        ChatSpillStore store = open();
+
+        List<PendingChat> replayed = new ArrayList<>();
+        assertThat(store.replay(10, replayed::addAll)).isEqualTo(2);
+
+        assertThat(replayed).containsExactly(chat("하나"), chat("둘"));
+        assertThat(files()).noneMatch(name -> name.startsWith("dead"));
+    }
+
+    @Test
+    void removesEmptySegmentOnClose() throws IOException {
+        ChatSpillStore store = open();
+
+        store.close();
+
+        assertThat(files()).isEmpty();
+    }
+
+    private ChatSpillStore open() throws IOException {
+        ChatSpillStore store = new ChatSpillStore(directory, objectMapper);
+        store.open();
+        stores.add(store);
+        return store;
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).toList();
+        }
+    }
+
+    private static PendingChat chat(String message) {
+        return new PendingChat(1L, message, ChatType.PATIENT, LocalDateTime.of(2025, 5, 1, 9, 30));
+    }
+}
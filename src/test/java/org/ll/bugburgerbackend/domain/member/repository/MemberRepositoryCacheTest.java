@@ -0,0 +1,97 @@
+package org.ll.bugburgerbackend.domain.member.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ll.bugburgerbackend.domain.member.entity.Member;
+import org.ll.bugburgerbackend.global.config.HibernateCacheConfig;
+import org.ll.bugburgerbackend.global.config.SecondLevelCacheStatistics;
+import org.ll.bugburgerbackend.global.type.DementiaStage;
+import org.ll.bugburgerbackend.global.type.GenderType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 쿼리 캐시는 커밋된 변경만 기준으로 무효화되므로 테스트 트랜잭션 없이 호출마다 커밋한다.
+@DataJpaTest
+@Import({HibernateCacheConfig.class, SecondLevelCacheStatistics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MemberRepositoryCacheTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private SecondLevelCacheStatistics cacheStatistics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Member member;
+    private long baseHits;
+    private long baseMisses;
+
+    @BeforeEach
+    void setUp() {
+        member = memberRepository.save(member("cache-user", "캐시"));
+        // 통계는 컨텍스트가 살아 있는 동안 누적되므로 테스트 시작 시점과의 차이로 본다.
+        baseHits = cacheStatistics.getMemberLookupHits();
+        baseMisses = cacheStatistics.getMemberLookupMisses();
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    void secondLookupIsServedFromTheQueryCache() {
+        assertThat(memberRepository.findByUsername("cache-user")).isPresent();
+        assertThat(memberRepository.findByUsername("cache-user")).isPresent();
+        assertThat(memberRepository.findByNickname("캐시")).isPresent();
+        assertThat(memberRepository.findByNickname("캐시")).isPresent();
+
+        assertThat(misses()).isEqualTo(2);
+        assertThat(hits()).isEqualTo(2);
+    }
+
+    @Test
+    void updatingAMemberInvalidatesCachedLookups() {
+        memberRepository.findByUsername("cache-user");
+        memberRepository.findByUsername("cache-user");
+        assertThat(hits()).isEqualTo(1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                memberRepository.findById(member.getId()).orElseThrow().setNickname("바뀐별명"));
+
+        Member reloaded = memberRepository.findByUsername("cache-user").orElseThrow();
+        assertThat(reloaded.getNickname()).isEqualTo("바뀐별명");
+        assertThat(memberRepository.findByNickname("캐시")).isEmpty();
+        assertThat(hits()).isEqualTo(1);
+        assertThat(misses()).isEqualTo(3);
+    }
+
+    private long hits() {
+        return cacheStatistics.getMemberLookupHits() - baseHits;
+    }
+
+    private long misses() {
+        return cacheStatistics.getMemberLookupMisses() - baseMisses;
+    }
+
+    private static Member member(String username, String nickname) {
+        return Member.builder()
+                .username(username)
+                .birth("1950-01-01")
+                .nickname(nickname)
+                .dementiaStage(DementiaStage.values()[0])
+                .gender(GenderType.values()[0])
+                .build();
+    }
+}
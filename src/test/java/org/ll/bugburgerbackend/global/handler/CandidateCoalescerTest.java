@@ -0,0 +1,123 @@
+package org.ll.bugburgerbackend.global.handler;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CandidateCoalescerTest {
+    private static final long WINDOW_MILLIS = 20;
+
+    // 예약된 flush 는 테스트가 직접 실행한다.
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final List<Emitted> emitted = new ArrayList<>();
+    private final CandidateCoalescer coalescer = new CandidateCoalescer(WINDOW_MILLIS, scheduler,
+            (sender, room, to, candidates) -> emitted.add(new Emitted(sender.id(), room, to, List.copyOf(candidates))));
+
+    private final SignalingSession alice = session("alice");
+    private final SignalingSession bob = session("bob");
+
+    @Test
+    void groupsCandidatesByRecipientUntilTheWindowEnds() {
+        coalescer.offer(alice, "room", "p1", "c1");
+        coalescer.offer(alice, "room", null, "c2");
+        coalescer.offer(alice, "room", "p1", "c3");
+        assertThat(emitted).isEmpty();
+
+        scheduled(1).run();
+
+        assertThat(emitted).containsExactly(
+                new Emitted("alice", "room", "p1", List.of("c1", "c3")),
+                new Emitted("alice", "room", null, List.of("c2")));
+    }
+
+    @Test
+    void keepsSendersApart() {
+        coalescer.offer(alice, "room", null, "a1");
+        coalescer.offer(bob, "room", null, "b1");
+
+        coalescer.flush(bob);
+
+        assertThat(emitted).containsExactly(new Emitted("bob", "room", null, List.of("b1")));
+    }
+
+    @Test
+    void sendsAFullBatchWithoutWaitingAndOnlyOnce() {
+        List<String> candidates = new ArrayList<>();
+        for (int i = 0; i < CandidateCoalescer.MAX_BATCH; i++) {
+            candidates.add("c" + i);
+            coalescer.offer(alice, "room", null, "c" + i);
+        }
+
+        assertThat(emitted).containsExactly(new Emitted("alice", "room", null, candidates));
+
+        scheduled(1).run();
+        assertThat(emitted).hasSize(1);
+    }
+
+    @Test
+    void explicitFlushWinsOverTheTimerAndLaterCandidatesStartANewBatch() {
+        coalescer.offer(alice, "room", null, "c1");
+        Runnable firstTimer = scheduled(1);
+
+        coalescer.flush(alice);
+        coalescer.offer(alice, "room", null, "c2");
+        firstTimer.run();
+
+        assertThat(emitted).containsExactly(new Emitted("alice", "room", null, List.of("c1")));
+
+        scheduled(2).run();
+        assertThat(emitted).containsExactly(
+                new Emitted("alice", "room", null, List.of("c1")),
+                new Emitted("alice", "room", null, List.of("c2")));
+    }
+
+    @Test
+    void discardDropsPendingCandidates() {
+        coalescer.offer(alice, "room", null, "c1");
+
+        coalescer.discard(alice);
+        scheduled(1).run();
+        coalescer.flush(alice);
+
+        assertThat(emitted).isEmpty();
+    }
+
+    @Test
+    void flushWithoutPendingCandidatesDoesNothing() {
+        coalescer.flush(alice);
+
+        assertThat(emitted).isEmpty();
+        verify(scheduler, never()).schedule(any(Runnable.class), eq(WINDOW_MILLIS), eq(TimeUnit.MILLISECONDS));
+    }
+
+    // 지금까지 예약된 flush 중 마지막 것
+    private Runnable scheduled(int expectedCount) {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(expectedCount)).schedule(task.capture(), eq(WINDOW_MILLIS), eq(TimeUnit.MILLISECONDS));
+        return task.getValue();
+    }
+
+    private static SignalingSession session(String id) {
+        WebSocketSession webSocketSession = mock(WebSocketSession.class);
+        when(webSocketSession.getId()).thenReturn(id);
+        return new SignalingSession(webSocketSession, Runnable::run, Long.MAX_VALUE, 1024, (s, status) -> {
+        });
+    }
+
+    private record Emitted(String sender, String room, String to, List<String> candidates) {
+    }
+}
@@ -0,0 +1,56 @@
+package org.ll.bugburgerbackend.global.handler;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SignalingCodecTest {
+    private static final String CANDIDATE = "{\"type\":\"candidate\",\"to\":\"peer-1\",\"candidate\":{"
+            + "\"candidate\":\"candidate:842163049 1 udp 1677729535 203.0.113.7 61044 typ srflx raddr 10.0.0.5 rport 61044\","
+            + "\"sdpMid\":\"0\",\"sdpMLineIndex\":0,\"usernameFragment\":null},\"trickle\":true,\"tags\":[\"a\",\"한글\"]}";
+
+    private final SignalingCodec codec = new SignalingCodec(new JsonFactory());
+
+    @Test
+    void roundTripsJsonThroughCbor() throws Exception {
+        byte[] cbor = codec.toCbor(CANDIDATE);
+
+        assertThat(codec.toJson(ByteBuffer.wrap(cbor))).isEqualTo(CANDIDATE);
+    }
+
+    @Test
+    void cborFrameIsSmallerThanTheJsonText() {
+        assertThat(codec.toCbor(CANDIDATE).length).isLessThan(CANDIDATE.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void readsOnlyTheRemainingBytesOfTheBuffer() throws Exception {
+        byte[] cbor = codec.toCbor("{\"type\":\"leave\"}");
+        ByteBuffer buffer = ByteBuffer.allocate(cbor.length + 3);
+        buffer.put(new byte[]{9, 9, 9}).put(cbor).flip().position(3);
+
+        assertThat(codec.toJson(buffer)).isEqualTo("{\"type\":\"leave\"}");
+        assertThat(buffer.remaining()).isZero();
+    }
+
+    @Test
+    void emptyFrameBecomesEmptyJson() throws Exception {
+        assertThat(codec.toJson(ByteBuffer.allocate(0))).isEmpty();
+    }
+
+    @Test
+    void rejectsTruncatedCbor() {
+        byte[] cbor = codec.toCbor(CANDIDATE);
+        byte[] truncated = Arrays.copyOf(cbor, cbor.length / 2);
+
+        assertThatThrownBy(() -> codec.toJson(ByteBuffer.wrap(truncated)))
+                .isInstanceOf(JsonProcessingException.class);
+    }
+}
@@ -0,0 +1,66 @@
+package org.ll.bugburgerbackend.global.handler;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SignalingRoomsTest {
+    private final SignalingRooms rooms = new SignalingRooms(2);
+
+    @Test
+    void rejectsFullRoomCountingRemoteMembers() {
+        assertThat(rooms.join("room", session("a"), 1)).isTrue();
+        assertThat(rooms.join("room", session("b"), 1)).isFalse();
+    }
+
+    @Test
+    void evictedSessionCannotJoin() {
+        SignalingSession session = session("a");
+        session.evict(CloseStatus.SESSION_NOT_RELIABLE);
+
+        assertThat(rooms.join("room", session, 0)).isFalse();
+        assertThat(rooms.roomOf(session)).isNull();
+        assertThat(rooms.roomCount()).isZero();
+    }
+
+    @Test
+    void sessionClosedWhileJoiningIsNotLeftInTheRoom() {
+        WebSocketSession webSocketSession = webSocketSession("a");
+        // compute 안의 확인까지는 열려 있다가 그 직후 닫힌다. 축출 쪽 leave 는 roomBySession 이 비어 있을 때 지나갔다.
+        when(webSocketSession.isOpen()).thenReturn(true, false);
+        SignalingSession session = new SignalingSession(webSocketSession, Runnable::run, Long.MAX_VALUE, 1024, (s, status) -> {
+        });
+
+        assertThat(rooms.join("room", session, 0)).isFalse();
+        assertThat(rooms.membersOf("room")).isEmpty();
+        assertThat(rooms.leave(session)).isNull();
+    }
+
+    @Test
+    void movingToAnotherRoomLeavesThePreviousOne() {
+        SignalingSession session = session("a");
+        rooms.join("first", session, 0);
+
+        assertThat(rooms.join("second", session, 0)).isTrue();
+        assertThat(rooms.membersOf("first")).isEmpty();
+        assertThat(rooms.leave(session)).isEqualTo("second");
+        assertThat(rooms.roomCount()).isZero();
+    }
+
+    private static SignalingSession session(String id) {
+        WebSocketSession webSocketSession = webSocketSession(id);
+        when(webSocketSession.isOpen()).thenReturn(true);
+        return new SignalingSession(webSocketSession, Runnable::run, Long.MAX_VALUE, 1024, (s, status) -> {
+        });
+    }
+
+    private static WebSocketSession webSocketSession(String id) {
+        WebSocketSession webSocketSession = mock(WebSocketSession.class);
+        when(webSocketSession.getId()).thenReturn(id);
+        return webSocketSession;
+    }
+}
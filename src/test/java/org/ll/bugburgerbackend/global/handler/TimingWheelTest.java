@@ -0,0 +1,153 @@
+package org.ll.bugburgerbackend.global.handler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// tick 은 스케줄러에 넘어간 작업을 붙잡아 테스트가 직접 돌린다. 시간 대신 몇 번째 tick 에 실행됐는지로 확인한다.
+class TimingWheelTest {
+    private static final long TICK_MILLIS = 10;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+    private static final int WHEEL_SIZE = 8;
+
+    private final TimingWheel wheel = new TimingWheel(TICK_MILLIS, WHEEL_SIZE);
+    private final CapturingScheduler scheduler = new CapturingScheduler();
+    private int ticks;
+
+    @BeforeEach
+    void setUp() {
+        wheel.start(scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void startsATickAtTheConfiguredRate() {
+        assertThat(scheduler.periodMillis).isEqualTo(TICK_MILLIS);
+    }
+
+    @Test
+    void runsTaskAfterDelayRoundedUpToWholeTicks() {
+        List<Integer> fired = new ArrayList<>();
+        // 새 작업은 다음 tick 에 휠에 올라가고, 그 tick 부터 3칸 뒤에 실행된다.
+        wheel.schedule(once(fired), 2 * TICK_NANOS + 1);
+
+        tick(10);
+
+        assertThat(fired).containsExactly(4);
+    }
+
+    @Test
+    void treatsZeroDelayAsOneTick() {
+        List<Integer> fired = new ArrayList<>();
+        wheel.schedule(once(fired), 0);
+
+        tick(3);
+
+        assertThat(fired).containsExactly(2);
+    }
+
+    @Test
+    void delayOfExactlyOneRevolutionComesBackToTheSameBucket() {
+        List<Integer> fired = new ArrayList<>();
+        wheel.schedule(once(fired), WHEEL_SIZE * TICK_NANOS);
+
+        tick(WHEEL_SIZE * 2);
+
+        assertThat(fired).containsExactly(1 + WHEEL_SIZE);
+    }
+
+    @Test
+    void countsRoundsForDelaysLongerThanTheWheel() {
+        List<Integer> fired = new ArrayList<>();
+        long delayTicks = 2L * WHEEL_SIZE + 3;
+        wheel.schedule(once(fired), delayTicks * TICK_NANOS);
+
+        tick(WHEEL_SIZE * 4);
+
+        assertThat(fired).containsExactly((int) (1 + delayTicks));
+    }
+
+    @Test
+    void reschedulesByTheReturnedDelayUntilItIsNegative() {
+        List<Integer> fired = new ArrayList<>();
+        wheel.schedule(now -> {
+            fired.add(ticks);
+            return fired.size() < 4 ? 2 * TICK_NANOS : -1;
+        }, TICK_NANOS);
+
+        tick(20);
+
+        assertThat(fired).containsExactly(2, 4, 6, 8);
+    }
+
+    @Test
+    void keepsTickingWhenATaskThrows() {
+        List<Integer> fired = new ArrayList<>();
+        wheel.schedule(now -> {
+            throw new IllegalStateException("boom");
+        }, TICK_NANOS);
+        wheel.schedule(now -> {
+            fired.add(ticks);
+            return TICK_NANOS;
+        }, TICK_NANOS);
+
+        tick(4);
+
+        assertThat(fired).containsExactly(2, 3, 4);
+    }
+
+    @Test
+    void runsEveryTaskInTheSameBucket() {
+        List<Integer> fired = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            wheel.schedule(once(fired), 3 * TICK_NANOS);
+        }
+
+        tick(5);
+
+        assertThat(fired).hasSize(100);
+        assertThat(fired.stream().distinct().toList()).containsExactly(4);
+    }
+
+    private TimingWheel.Task once(List<Integer> fired) {
+        return now -> {
+            fired.add(ticks);
+            return -1;
+        };
+    }
+
+    private void tick(int count) {
+        for (int i = 0; i < count; i++) {
+            ticks++;
+            scheduler.tick.run();
+        }
+    }
+
+    private static class CapturingScheduler extends ScheduledThreadPoolExecutor {
+        private Runnable tick;
+        private long periodMillis;
+
+        CapturingScheduler() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+            this.tick = command;
+            this.periodMillis = unit.toMillis(period);
+            return null;
+        }
+    }
+}
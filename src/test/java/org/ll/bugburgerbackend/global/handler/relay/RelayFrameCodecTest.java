@@ -0,0 +1,80 @@
+package org.ll.bugburgerbackend.global.handler.relay;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RelayFrameCodecTest {
+
+    @Test
+    void roundTripsFramesBackToBack() throws IOException {
+        RelayFrame message = RelayFrame.message("10.0.0.1:9090", "방-1", "s1", "s2", "{\"type\":\"offer\",\"sdp\":\"v=0\"}");
+        RelayFrame join = RelayFrame.join("10.0.0.1:9090", "방-1", "s1");
+
+        DataInputStream in = input(message, join);
+
+        assertThat(RelayFrameCodec.read(in)).isEqualTo(message);
+        assertThat(RelayFrameCodec.read(in)).isEqualTo(join);
+        assertThatThrownBy(() -> RelayFrameCodec.read(in)).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void keepsNullAndEmptyFieldsApart() throws IOException {
+        RelayFrame frame = RelayFrame.message("node", "", "s1", null, "");
+
+        RelayFrame read = RelayFrameCodec.read(input(frame));
+
+        assertThat(read.room()).isEmpty();
+        assertThat(read.to()).isNull();
+        assertThat(read.payload()).isEmpty();
+    }
+
+    @Test
+    void rejectsUnknownType() {
+        byte[] bytes = {(byte) RelayFrame.Type.values().length};
+
+        assertThatThrownBy(() -> RelayFrameCodec.read(new DataInputStream(new ByteArrayInputStream(bytes))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unknown relay frame type");
+    }
+
+    @Test
+    void rejectsOversizedFieldWithoutAllocatingIt() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(RelayFrame.Type.MESSAGE.ordinal());
+        out.writeInt(Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> RelayFrameCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("too large");
+    }
+
+    @Test
+    void failsOnTruncatedFrame() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        RelayFrameCodec.write(new DataOutputStream(bytes), RelayFrame.join("node", "room", "session"));
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 2);
+
+        assertThatThrownBy(() -> RelayFrameCodec.read(new DataInputStream(new ByteArrayInputStream(truncated))))
+                .isInstanceOf(EOFException.class);
+    }
+
+    private static DataInputStream input(RelayFrame... frames) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (RelayFrame frame : frames) {
+            RelayFrameCodec.write(out, frame);
+        }
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+}
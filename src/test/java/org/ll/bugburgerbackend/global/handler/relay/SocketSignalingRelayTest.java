@@ -0,0 +1,185 @@
+package org.ll.bugburgerbackend.global.handler.relay;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 127.0.0.1 의 임의 포트로 실제 TCP 연결을 맺어 확인한다.
+class SocketSignalingRelayTest {
+    private static final String SECRET = "relay-test-secret";
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final List<SocketSignalingRelay> relays = new ArrayList<>();
+    private final List<Socket> sockets = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        relays.forEach(SocketSignalingRelay::close);
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+    }
+
+    @Test
+    void deliversFramesBetweenAuthenticatedNodes() throws Exception {
+        String a = address(freePort());
+        String b = address(freePort());
+        RecordingListener listenerA = new RecordingListener();
+        RecordingListener listenerB = new RecordingListener();
+        SocketSignalingRelay relayA = start(a, SECRET, List.of(b), listenerA);
+        start(b, SECRET, List.of(a), listenerB);
+
+        assertThat(listenerA.next()).isEqualTo("up " + b);
+        relayA.send(b, RelayFrame.message(a, "room", "s1", null, "{\"type\":\"offer\"}"));
+
+        assertThat(listenerB.nextFrame()).isEqualTo(RelayFrame.message(a, "room", "s1", null, "{\"type\":\"offer\"}"));
+    }
+
+    @Test
+    void ignoresNodeWithWrongSecret() throws Exception {
+        String a = address(freePort());
+        String b = address(freePort());
+        RecordingListener listenerA = new RecordingListener();
+        start(a, SECRET, List.of(), listenerA);
+        SocketSignalingRelay intruder = start(b, "other-secret", List.of(a), new RecordingListener());
+
+        intruder.broadcast(RelayFrame.join(b, "room", "s1"));
+
+        assertThat(listenerA.poll(500)).isNull();
+    }
+
+    @Test
+    void closesConnectionThatFailsTheHandshake() throws Exception {
+        String a = address(freePort());
+        RecordingListener listenerA = new RecordingListener();
+        start(a, SECRET, List.of(), listenerA);
+
+        Socket socket = connect(a);
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        in.readFully(new byte[RelayHandshake.NONCE_BYTES]);
+        send(socket, RelayFrame.hello("127.0.0.1:1", "bm90LWEtcHJvb2Y="));
+
+        assertThat(in.read()).isEqualTo(-1);
+        assertThat(listenerA.poll(200)).isNull();
+    }
+
+    @Test
+    void lateCloseOfReplacedConnectionDoesNotRemoveTheNodeAgain() throws Exception {
+        String a = address(freePort());
+        // 재시작한 노드처럼 같은 id 로 두 번 접속한다. 이 주소로는 아무도 listen 하지 않는다.
+        String node = address(freePort());
+        RecordingListener listenerA = new RecordingListener();
+        start(a, SECRET, List.of(), listenerA);
+
+        Socket first = handshake(a, node);
+        send(first, RelayFrame.join(node, "room", "old-session"));
+        assertThat(listenerA.nextFrame().session()).isEqualTo("old-session");
+
+        Socket second = handshake(a, node);
+        // 이전 연결로 알려진 참가자는 새 연결이 인증될 때 한 번만 지운다.
+        assertThat(listenerA.next()).isEqualTo("down " + node);
+        send(second, RelayFrame.join(node, "room", "new-session"));
+        assertThat(listenerA.nextFrame().session()).isEqualTo("new-session");
+
+        first.close();
+        assertThat(listenerA.poll(300)).isNull();
+
+        second.close();
+        assertThat(listenerA.next()).isEqualTo("down " + node);
+    }
+
+    private SocketSignalingRelay start(String node, String secret, List<String> peers, RecordingListener listener) {
+        SocketSignalingRelay relay = new SocketSignalingRelay(node, "127.0.0.1", port(node), secret, peers, 100);
+        relays.add(relay);
+        relay.start(listener);
+        return relay;
+    }
+
+    private Socket handshake(String target, String node) throws IOException {
+        Socket socket = connect(target);
+        byte[] nonce = new byte[RelayHandshake.NONCE_BYTES];
+        new DataInputStream(socket.getInputStream()).readFully(nonce);
+        send(socket, RelayFrame.hello(node, new RelayHandshake(SECRET).proof(nonce, node)));
+        return socket;
+    }
+
+    private Socket connect(String target) throws IOException {
+        Socket socket = new Socket("127.0.0.1", port(target));
+        socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        sockets.add(socket);
+        return socket;
+    }
+
+    private static void send(Socket socket, RelayFrame frame) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        RelayFrameCodec.write(out, frame);
+        out.flush();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String address(int port) {
+        return "127.0.0.1:" + port;
+    }
+
+    private static int port(String address) {
+        return Integer.parseInt(address.substring(address.lastIndexOf(':') + 1));
+    }
+
+    // 받은 이벤트를 순서대로 쌓는다. 프레임은 그대로, onNodeUp/onNodeDown 은 "up node"/"down node" 로 남긴다.
+    private static class RecordingListener implements SignalingRelay.Listener {
+        private final BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onNodeUp(String node) {
+            events.add("up " + node);
+        }
+
+        @Override
+        public void onFrame(RelayFrame frame) {
+            events.add(frame);
+        }
+
+        @Override
+        public void onNodeDown(String node) {
+            events.add("down " + node);
+        }
+
+        Object next() throws InterruptedException {
+            Object event = events.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertThat(event).as("relay event").isNotNull();
+            return event;
+        }
+
+        // 나가는 연결의 onNodeUp 은 프레임과 다른 스레드에서 오므로 순서가 정해져 있지 않아 건너뛴다.
+        RelayFrame nextFrame() throws InterruptedException {
+            Object event = next();
+            while (event instanceof String text && text.startsWith("up ")) {
+                event = next();
+            }
+            assertThat(event).isInstanceOf(RelayFrame.class);
+            return (RelayFrame) event;
+        }
+
+        Object poll(long millis) throws InterruptedException {
+            return events.poll(millis, TimeUnit.MILLISECONDS);
+        }
+    }
+}
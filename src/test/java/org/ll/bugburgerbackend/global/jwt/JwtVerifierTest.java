@@ -0,0 +1,46 @@
+package org.ll.bugburgerbackend.global.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.ll.bugburgerbackend.global.Ut.Ut;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtVerifierTest {
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private final JwtVerifier verifier = new JwtVerifier(SECRET, 100);
+
+    @Test
+    void verifiesSignatureOnceForRepeatedToken() {
+        String token = Ut.jwt.toString(SECRET, 3600, Map.of("id", 1, "username", "patient"));
+
+        assertThat(verifier.verify(token)).containsEntry("id", 1);
+        assertThat(verifier.verify(token)).containsEntry("username", "patient");
+
+        assertThat(verifier.getCacheMisses()).isEqualTo(1);
+        assertThat(verifier.getCacheHits()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsTokenWhosePayloadWasSwappedUnderACachedSignature() {
+        String token = Ut.jwt.toString(SECRET, 3600, Map.of("id", 1));
+        verifier.verify(token);
+
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"id\":2,\"exp\":9999999999}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(verifier.verify(parts[0] + "." + forgedPayload + "." + parts[2])).isNull();
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        String token = Ut.jwt.toString(SECRET, -10, Map.of("id", 1));
+
+        assertThat(verifier.verify(token)).isNull();
+    }
+}